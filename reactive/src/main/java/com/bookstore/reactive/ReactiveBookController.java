@@ -0,0 +1,103 @@
+package com.bookstore.reactive;
+
+import com.bookstore.dto.response.ApiResponse;
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.exception.ResourceNotFoundException;
+import com.bookstore.model.enums.SearchEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Non-blocking twin of the catalog reads in {@link com.bookstore.controller.BookController}: same paths,
+ * parameters and JSON. Always reads the database; there is no in-memory catalog, and so no ETags, here.
+ */
+@RestController
+@RequestMapping("/api/v1/books")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+    private final ReactiveBookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${bookstore.search.full-text-enabled:false}")
+    private boolean fullTextSearchEnabled;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllBooks(@RequestParam(required = false) String fields) {
+        BookFields bookFields = BookFields.parse(fields);
+        return bookRepository.findAll(bookFields.includesText())
+                .collectList()
+                .map(books -> json(ApiResponse.success(books), bookFields));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> searchBooks(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(defaultValue = "AUTO") SearchEngine engine,
+            @RequestParam(required = false) String fields) {
+        BookFields bookFields = BookFields.parse(fields);
+        boolean withText = bookFields.includesText();
+
+        Pageable pageable;
+        Flux<BookResponse> content;
+        Mono<Long> total;
+        if (engine == SearchEngine.FULL_TEXT && StringUtils.hasText(search) && fullTextSearchEnabled) {
+            pageable = PageRequest.of(page, size);
+            content = bookRepository.searchFullText(search.trim(), withText, pageable);
+            total = bookRepository.countFullText(search.trim());
+        } else {
+            Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            content = bookRepository.findWithSearch(search, withText, pageable);
+            total = bookRepository.countWithSearch(search);
+        }
+        return Mono.zip(content.collectList(), total)
+                .map(result -> json(ApiResponse.success(new PageImpl<>(result.getT1(), pageable, result.getT2())),
+                        bookFields));
+    }
+
+    @GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getBookByName(
+            @PathVariable String name,
+            @RequestParam(required = false) String fields) {
+        BookFields bookFields = BookFields.parse(fields);
+        return bookRepository.findByName(name, bookFields.includesText())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book", "name", name)))
+                .map(book -> json(ApiResponse.success(book), bookFields));
+    }
+
+    private ResponseEntity<byte[]> json(Object body, BookFields fields) {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writer(fields.filters()).writeValueAsBytes(body));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException("Could not serialize books", ex);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bookstore.reactive;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.exception.BadRequestException;
+import com.bookstore.model.enums.AgeGroup;
+import com.bookstore.model.enums.Language;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of active books over R2DBC, with the same filters as
+ * {@link com.bookstore.repository.BookRepository}. The TEXT columns are only selected when asked for.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String COLUMNS = "id, name, genre, age_group, price, publication_year, author, "
+            + "number_of_pages, language, created_at, updated_at";
+    private static final String TEXT_COLUMNS = ", characteristics, description";
+
+    private static final String SEARCH_FILTER = " AND (lower(name) LIKE :pattern OR lower(author) LIKE :pattern "
+            + "OR lower(genre) LIKE :pattern)";
+    private static final String FULL_TEXT_FILTER = " AND (search_vector @@ plainto_tsquery('simple', :search) OR "
+            + "lower(name) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(author) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(genre) LIKE '%' || lower(:search) || '%')";
+
+    /**
+     * Sortable {@link BookResponse} properties and their columns.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("name", "name"),
+            Map.entry("genre", "genre"),
+            Map.entry("ageGroup", "age_group"),
+            Map.entry("price", "price"),
+            Map.entry("publicationYear", "publication_year"),
+            Map.entry("author", "author"),
+            Map.entry("pages", "number_of_pages"),
+            Map.entry("language", "language"),
+            Map.entry("createdAt", "created_at"),
+            Map.entry("updatedAt", "updated_at"));
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<BookResponse> findAll(boolean withText) {
+        return databaseClient.sql(select(withText) + " ORDER BY id")
+                .map(row -> toResponse(row, withText))
+                .all();
+    }
+
+    public Mono<BookResponse> findByName(String name, boolean withText) {
+        return databaseClient.sql(select(withText) + " AND name = :name")
+                .bind("name", name)
+                .map(row -> toResponse(row, withText))
+                .one();
+    }
+
+    /**
+     * Page of books whose name, author or genre contain the term, like {@code findResponsesWithSearch}.
+     *
+     * @throws BadRequestException when sorting by an unknown property
+     */
+    public Flux<BookResponse> findWithSearch(String search, boolean withText, Pageable pageable) {
+        String sql = select(withText) + (StringUtils.hasText(search) ? SEARCH_FILTER : "")
+                + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset";
+        DatabaseClient.GenericExecuteSpec spec = bindPage(databaseClient.sql(sql), pageable);
+        if (StringUtils.hasText(search)) {
+            spec = spec.bind("pattern", pattern(search));
+        }
+        return spec.map(row -> toResponse(row, withText)).all();
+    }
+
+    public Mono<Long> countWithSearch(String search) {
+        String sql = "SELECT count(*) FROM books WHERE deleted_at IS NULL"
+                + (StringUtils.hasText(search) ? SEARCH_FILTER : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (StringUtils.hasText(search)) {
+            spec = spec.bind("pattern", pattern(search));
+        }
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Page of the ranked full-text search from V4 (PostgreSQL only), like {@code searchFullText}.
+     */
+    public Flux<BookResponse> searchFullText(String search, boolean withText, Pageable pageable) {
+        String sql = select(withText) + FULL_TEXT_FILTER
+                + " ORDER BY ts_rank(search_vector, plainto_tsquery('simple', :search)) DESC, "
+                + "similarity(lower(name), lower(:search)) DESC, id LIMIT :limit OFFSET :offset";
+        return bindPage(databaseClient.sql(sql), pageable)
+                .bind("search", search)
+                .map(row -> toResponse(row, withText))
+                .all();
+    }
+
+    public Mono<Long> countFullText(String search) {
+        return databaseClient.sql("SELECT count(*) FROM books WHERE deleted_at IS NULL" + FULL_TEXT_FILTER)
+                .bind("search", search)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static String select(boolean withText) {
+        return "SELECT " + COLUMNS + (withText ? TEXT_COLUMNS : "") + " FROM books WHERE deleted_at IS NULL";
+    }
+
+    private static String orderBy(Sort sort) {
+        String columns = sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new BadRequestException("Cannot sort books by '" + order.getProperty() + "'");
+                    }
+                    return column + (order.isDescending() ? " DESC" : " ASC");
+                })
+                .collect(Collectors.joining(", "));
+        return " ORDER BY " + (columns.isEmpty() ? "id" : columns + ", id");
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindPage(DatabaseClient.GenericExecuteSpec spec,
+                                                              Pageable pageable) {
+        return spec.bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset());
+    }
+
+    private static String pattern(String search) {
+        return "%" + search.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    private static BookResponse toResponse(Readable row, boolean withText) {
+        String ageGroup = row.get("age_group", String.class);
+        String language = row.get("language", String.class);
+        return new BookResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("genre", String.class),
+                ageGroup != null ? AgeGroup.valueOf(ageGroup) : null,
+                row.get("price", BigDecimal.class),
+                row.get("publication_year", LocalDate.class),
+                row.get("author", String.class),
+                row.get("number_of_pages", Integer.class),
+                withText ? row.get("characteristics", String.class) : null,
+                withText ? row.get("description", String.class) : null,
+                language != null ? Language.valueOf(language) : null,
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookstore.reactive;
+
+import com.bookstore.config.JacksonConfig;
+import com.bookstore.security.jwt.JwtTokenProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Read-only catalog API on WebFlux and R2DBC: the {@code GET /api/v1/books}, {@code /search} and {@code /{name}}
+ * contracts of {@link com.bookstore.controller.BookController}, served by a few event-loop threads.
+ * Built by its own Maven module in {@code reactive/}, on top of the main application's classes, so WebFlux and
+ * R2DBC stay off the main application's classpath. Runs next to the main application, which keeps all writes.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class})
+@Import({JacksonConfig.class, JwtTokenProvider.class})
+@Profile("reactive")
+public class ReactiveCatalogApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveCatalogApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookstore.reactive;
+
+import com.bookstore.exception.BadRequestException;
+import com.bookstore.exception.ErrorResponse;
+import com.bookstore.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+
+/**
+ * The error bodies of {@link com.bookstore.exception.GlobalExceptionHandler}, for the reactive catalog.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, ServerHttpRequest request) {
+        log.error("Resource not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler({BadRequestException.class, ServerWebInputException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(RuntimeException ex, ServerHttpRequest request) {
+        log.warn("Bad request: {}", ex.getMessage());
+        String message = ex instanceof ServerWebInputException input ? input.getReason() : ex.getMessage();
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", message, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, ServerHttpRequest request) {
+        log.error("Unexpected error: ", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred",
+                request);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                       ServerHttpRequest request) {
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), status.value(), error, message,
+                request.getPath().value());
+        return new ResponseEntity<>(body, status);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.reactive;
+
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveBookControllerTest {
+
+    private ReactiveBookRepository bookRepository;
+    private WebTestClient client;
+    private BookResponse book;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(ReactiveBookRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addMixIn(BookResponse.class, BookFields.FilterMixin.class)
+                .setFilterProvider(BookFields.defaultFilters());
+        client = WebTestClient.bindToController(new ReactiveBookController(bookRepository, objectMapper))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+
+        book = new BookResponse();
+        book.setId(1L);
+        book.setName("The Hobbit");
+        book.setAuthor("J.R.R. Tolkien");
+        book.setPrice(new BigDecimal("15.99"));
+        book.setDescription("A fantasy novel");
+    }
+
+    @Test
+    void getBookByName_ShouldReturnBook() {
+        when(bookRepository.findByName("The Hobbit", true)).thenReturn(Mono.just(book));
+
+        client.get().uri("/api/v1/books/{name}", "The Hobbit").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.name").isEqualTo("The Hobbit")
+                .jsonPath("$.data.description").isEqualTo("A fantasy novel");
+    }
+
+    @Test
+    void getBookByName_ShouldReturnNotFound_WhenMissing() {
+        when(bookRepository.findByName("Missing", true)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/v1/books/{name}", "Missing").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.path").isEqualTo("/api/v1/books/Missing");
+    }
+
+    @Test
+    void searchBooks_ShouldReturnPage_WithSelectedFieldsOnly() {
+        when(bookRepository.findWithSearch(eq("hobbit"), eq(false), any(Pageable.class))).thenReturn(Flux.just(book));
+        when(bookRepository.countWithSearch("hobbit")).thenReturn(Mono.just(11L));
+
+        client.get().uri("/api/v1/books/search?search=hobbit&size=10&fields=name,price").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.content[0].name").isEqualTo("The Hobbit")
+                .jsonPath("$.data.content[0].author").doesNotExist()
+                .jsonPath("$.data.totalElements").isEqualTo(11)
+                .jsonPath("$.data.totalPages").isEqualTo(2);
+        verify(bookRepository).findWithSearch(eq("hobbit"), eq(false), any(Pageable.class));
+    }
+
+    @Test
+    void getAllBooks_ShouldRejectUnknownFields() {
+        client.get().uri("/api/v1/books?fields=isbn").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unknown book field 'isbn'");
+    }
+
+    @Test
+    void getAllBooks_ShouldWrapCatalog() {
+        when(bookRepository.findAll(anyBoolean())).thenReturn(Flux.just(book));
+
+        client.get().uri("/api/v1/books").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].name").isEqualTo("The Hobbit");
+    }
+}
@@ -0,0 +1,86 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.mapper.BookMapper;
+import com.bookstore.model.Book;
+import com.bookstore.model.enums.AgeGroup;
+import com.bookstore.model.enums.Language;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of a full catalog page: the previous reflective ModelMapper setup versus the generated BookMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    @Param({"10000"})
+    private int books;
+
+    private List<Book> catalog;
+    private ModelMapper modelMapper;
+    private BookMapper bookMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+        bookMapper = Mappers.getMapper(BookMapper.class);
+
+        catalog = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            Book book = new Book();
+            book.setId((long) i);
+            book.setName("Book " + i);
+            book.setAuthor("Author " + (i % 500));
+            book.setGenre("Genre " + (i % 20));
+            book.setPrice(BigDecimal.valueOf(1000 + i, 2));
+            book.setAgeGroup(AgeGroup.values()[i % AgeGroup.values().length]);
+            book.setLanguage(Language.values()[i % Language.values().length]);
+            book.setPublicationYear(LocalDate.of(1950 + i % 70, 1, 1));
+            book.setPages(100 + i % 900);
+            book.setDescription("Description of book " + i);
+            book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            book.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            catalog.add(book);
+        }
+    }
+
+    @Benchmark
+    public List<BookResponse> modelMapper() {
+        return catalog.stream()
+                .map(book -> modelMapper.map(book, BookResponse.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<BookResponse> mapStruct() {
+        return bookMapper.toResponses(catalog);
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.config.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synthetic scheduling comparison, not a measurement of the application: tasks per second for a burst of
+ * simulated blocking requests on Tomcat's default 200 platform threads versus one virtual thread per request.
+ * Each task takes a connection from a fake data source through the same 10-connection guard as the
+ * {@code virtual} profile and sleeps in place of two short queries (the JWT user lookup and the repository
+ * call), plus other blocking I/O. It shows how the thread models and the guard behave under waiting; the real
+ * request path needs a load test against a running instance. The virtual case needs Java 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(RequestThreadingBenchmark.REQUESTS)
+public class RequestThreadingBenchmark {
+
+    static final int REQUESTS = 2000;
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MILLIS = 1;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    /**
+     * Blocking time per request outside the database, e.g. reading the body or calling another service.
+     */
+    @Param({"0", "50"})
+    private long otherIoMillis;
+
+    private ExecutorService executor;
+    private DataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        executor = threading.equals("virtual")
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        dataSource = new ConnectionLimitingDataSource(new FakeDataSource(), POOL_SIZE, Duration.ofSeconds(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    query();
+                    Thread.sleep(otherIoMillis);
+                    query();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void query() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(QUERY_MILLIS);
+        }
+    }
+
+    /**
+     * Hands out connections that do nothing; the guard in front of it is the only limit.
+     */
+    private static final class FakeDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single books by name on top of the {@code books} cache.
+ * Keys carry a generation: evicting a name moves it to a new generation, never used before, so a reader that
+ * loaded the old row before the eviction stores it under a key nobody asks for anymore.
+ * {@link #evictAll()} does the same for every name at once by starting a new epoch, the generation of every name
+ * not evicted since. Only names evicted within the current epoch are tracked; past {@link #MAX_GENERATIONS} of
+ * them the whole cache is evicted, which starts a new epoch and forgets them.
+ * Concurrent misses on the same key share one load, so a flush does not send every reader to the database.
+ * Past the policy's refresh time a book is still served while it is reloaded in the background; if the database
+ * is unavailable it stays served until the stale-if-error window runs out, and a book that is gone is dropped.
+ */
+@Component
+@Slf4j
+public class BookCache {
+
+    public static final String CACHE_NAME = "books";
+    static final int MAX_GENERATIONS = 10_000;
+
+    private final CacheManager cacheManager;
+    private final SingleFlight<String, BookResponse> loads;
+    private final RefreshAhead<String> refreshes;
+    private final CacheRequests requests;
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private volatile long epoch;
+
+    public BookCache(CacheManager cacheManager, MeterRegistry meterRegistry, CacheRefreshPolicy refreshPolicy) {
+        this.cacheManager = cacheManager;
+        this.loads = new SingleFlight<>(meterRegistry, CACHE_NAME);
+        this.refreshes = new RefreshAhead<>(refreshPolicy, meterRegistry, CACHE_NAME);
+        this.requests = new CacheRequests(meterRegistry, CACHE_NAME, CacheRequests.NAME);
+    }
+
+    /**
+     * Return the cached book, loading and caching it on a miss. Callers missing the same key while it loads
+     * get the result, or the exception, of that one load. A stale book is returned as is and reloaded with the
+     * same loader in the background.
+     */
+    public BookResponse get(String name, Supplier<BookResponse> loader) {
+        Cache cache = cache();
+        String key = key(name);
+        Entry cached = usable(cache.get(key, Entry.class));
+        if (cached != null) {
+            requests.hit();
+            if (!refreshes.isFresh(cached.getLoadedAt())) {
+                refreshes.servedStale();
+                refreshes.refresh(key, () -> reload(cache, key, loader));
+            }
+            return cached.getBook();
+        }
+        requests.miss();
+        return loads.load(key, () -> book(usable(cache.get(key, Entry.class))), () -> store(cache, key, loader.get()));
+    }
+
+    /**
+     * Return the cached books by name, loading every miss with one call to the loader.
+     * On Caffeine this is a single bulk lookup; names the loader does not return are left out.
+     * Stale books are returned as well and reloaded in the background with one more call to the loader.
+     */
+    public Map<String, BookResponse> getAll(Collection<String> names,
+            Function<Set<String>, Map<String, BookResponse>> loader) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        names.forEach(name -> keys.computeIfAbsent(name, this::key));
+        Map<String, String> namesByKey = new HashMap<>();
+        keys.forEach((name, key) -> namesByKey.put(key, name));
+
+        Cache cache = cache();
+        Map<String, BookResponse> found = new HashMap<>();
+        Set<String> stale = new HashSet<>();
+        int misses;
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine =
+                    (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache;
+            Set<String> missing = new HashSet<>();
+            caffeine.getAll(keys.values(), missingKeys -> {
+                missingKeys.forEach(key -> missing.add(namesByKey.get(key)));
+                Map<Object, Object> loaded = new HashMap<>();
+                long loadedAt = refreshes.now();
+                loads.timed(() -> loader.apply(missing)).forEach((name, book) -> {
+                    if (keys.containsKey(name)) {
+                        loaded.put(keys.get(name), new Entry(book, loadedAt));
+                    }
+                });
+                return loaded;
+            }).forEach((key, value) -> {
+                // Caffeine expires entries itself, see CacheConfig
+                if (value instanceof Entry entry) {
+                    found.put(namesByKey.get(key), entry.getBook());
+                    if (!refreshes.isFresh(entry.getLoadedAt())) {
+                        stale.add((String) key);
+                    }
+                }
+            });
+            misses = missing.size();
+        } else {
+            Set<String> missing = new HashSet<>();
+            keys.forEach((name, key) -> {
+                Entry cached = usable(cache.get(key, Entry.class));
+                if (cached == null) {
+                    missing.add(name);
+                    return;
+                }
+                found.put(name, cached.getBook());
+                if (!refreshes.isFresh(cached.getLoadedAt())) {
+                    stale.add(key);
+                }
+            });
+            misses = missing.size();
+            if (!missing.isEmpty()) {
+                loads.timed(() -> loader.apply(missing)).forEach((name, book) -> {
+                    if (keys.containsKey(name)) {
+                        found.put(name, store(cache, keys.get(name), book));
+                    }
+                });
+            }
+        }
+        requests.hits(keys.size() - misses);
+        requests.misses(misses);
+
+        if (!stale.isEmpty()) {
+            refreshes.servedStale(stale.size());
+            refreshes.refresh(stale, claimed -> reloadAll(cache, claimed, namesByKey, loader));
+        }
+        return found;
+    }
+
+    /**
+     * Evict the given names once the current transaction commits.
+     */
+    public void evict(String... names) {
+        TransactionHooks.afterCommit(() -> Arrays.stream(names)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(this::evictNow));
+    }
+
+    /**
+     * Evict every book once the current transaction commits, for bulk changes.
+     */
+    public void evictAll() {
+        TransactionHooks.afterCommit(this::evictAllNow);
+    }
+
+    String key(String name) {
+        Long generation = generations.get(name);
+        return key(name, generation != null ? generation : epoch);
+    }
+
+    private static String key(String name, long generation) {
+        return "v" + generation + ":" + name;
+    }
+
+    /**
+     * How many names have their own generation, i.e. were evicted within the current epoch.
+     */
+    int trackedNames() {
+        return generations.size();
+    }
+
+    /**
+     * The book name a key was made from.
+     */
+    static String name(String key) {
+        return key.substring(key.indexOf(':') + 1);
+    }
+
+    private void evictNow(String name) {
+        long generation = lastGeneration.incrementAndGet();
+        Long previous = generations.put(name, generation);
+        cache().evict(key(name, previous != null ? previous : epoch));
+        log.debug("Evicted book '{}' from cache, now at generation {}", name, generation);
+        if (generations.size() > MAX_GENERATIONS) {
+            evictAllNow();
+        }
+    }
+
+    private void evictAllNow() {
+        // the new epoch is above every generation handed out so far, so no old key can become current again
+        long current = lastGeneration.incrementAndGet();
+        epoch = current;
+        generations.clear();
+        cache().clear();
+        log.debug("Evicted all books from cache, now at epoch {}", current);
+    }
+
+    private BookResponse store(Cache cache, String key, BookResponse book) {
+        cache.put(key, new Entry(book, refreshes.now()));
+        return book;
+    }
+
+    private void reload(Cache cache, String key, Supplier<BookResponse> loader) {
+        try {
+            loads.load(key, () -> null, () -> store(cache, key, loader.get()));
+        } catch (RuntimeException ex) {
+            if (!RefreshAhead.isUnavailable(ex)) {
+                cache.evict(key);
+            }
+            throw ex;
+        }
+    }
+
+    private void reloadAll(Cache cache, Set<String> keys, Map<String, String> namesByKey,
+            Function<Set<String>, Map<String, BookResponse>> loader) {
+        Set<String> names = new HashSet<>();
+        keys.forEach(key -> names.add(namesByKey.get(key)));
+        Map<String, BookResponse> loaded = loads.timed(() -> loader.apply(names));
+        for (String key : keys) {
+            BookResponse book = loaded.get(namesByKey.get(key));
+            if (book != null) {
+                store(cache, key, book);
+            } else {
+                cache.evict(key);
+            }
+        }
+    }
+
+    private Entry usable(Entry entry) {
+        return entry != null && refreshes.isUsable(entry.getLoadedAt()) ? entry : null;
+    }
+
+    private static BookResponse book(Entry entry) {
+        return entry != null ? entry.getBook() : null;
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Cache not configured: " + CACHE_NAME);
+    }
+
+    /**
+     * A cached book and when it was loaded, in {@link RefreshAhead#now()} time.
+     */
+    @Value
+    static class Entry {
+        BookResponse book;
+        long loadedAt;
+    }
+}
@@ -0,0 +1,209 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, copy-on-write catalog of active books.
+ * Readers get the last published {@link CatalogSnapshot} without locking; mutations are
+ * applied after commit by patching the snapshot by book id instead of reloading the table,
+ * and forwarded to the registered {@link CatalogListener}s.
+ * Past the policy's refresh time the snapshot is still served while it is reloaded in the background, which picks
+ * up changes made outside this instance. If the database is unavailable when an invalidated catalog is reloaded,
+ * the last snapshot is served again until the stale-if-error window runs out.
+ */
+@Component
+@Slf4j
+public class BookCatalog {
+
+    static final String CATALOG = "catalog";
+
+    private final List<CatalogListener> listeners;
+    // Readers of a cold catalog wait on a future, not a monitor: the load blocks on JDBC, and waiting on a
+    // monitor would pin virtual threads
+    private final SingleFlight<String, CatalogSnapshot> loads;
+    private final RefreshAhead<String> refreshes;
+    private final CacheRequests requests;
+    private final Object writeLock = new Object();
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile CatalogSnapshot current;
+    // When the last published snapshot was loaded, kept across invalidation for the stale fallback
+    private volatile long loadedAt;
+    private volatile boolean refreshDue;
+
+    // Guarded by writeLock. Non-null while a load is running so that commits racing with it are not lost.
+    private Map<Long, BookResponse> pendingChanges;
+    private long invalidations;
+    private CatalogSnapshot lastPublished;
+
+    public BookCatalog(List<CatalogListener> listeners, MeterRegistry meterRegistry, CacheRefreshPolicy refreshPolicy) {
+        this.listeners = listeners;
+        this.loads = new SingleFlight<>(meterRegistry, CATALOG);
+        this.refreshes = new RefreshAhead<>(refreshPolicy, meterRegistry, CATALOG);
+        this.requests = new CacheRequests(meterRegistry, CATALOG, CacheRequests.ALL);
+    }
+
+    /**
+     * Return the published snapshot, loading it once with the given loader if the catalog is cold.
+     * Readers arriving during the load share its result. A stale snapshot is returned as is and reloaded with
+     * the same loader in the background.
+     */
+    public CatalogSnapshot snapshot(Supplier<? extends Collection<BookResponse>> loader) {
+        CatalogSnapshot snapshot = usable();
+        if (snapshot != null) {
+            requests.hit();
+            if (refreshDue || !refreshes.isFresh(loadedAt)) {
+                refreshes.servedStale();
+                refreshes.refresh(CATALOG, () -> loads.load(CATALOG, () -> null, () -> load(loader)));
+            }
+            return snapshot;
+        }
+        requests.miss();
+        try {
+            return loads.load(CATALOG, this::usable, () -> load(loader));
+        } catch (RuntimeException ex) {
+            if (!RefreshAhead.isUnavailable(ex)) {
+                throw ex;
+            }
+            return fallBack(ex);
+        }
+    }
+
+    /**
+     * Return the published snapshot without triggering a load or a refresh, unless it has expired.
+     */
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(usable());
+    }
+
+    /**
+     * Add or replace a book once the current transaction commits.
+     */
+    public void put(BookResponse book) {
+        TransactionHooks.afterCommit(() -> apply(Collections.singletonMap(book.getId(), book)));
+    }
+
+    /**
+     * Remove a book once the current transaction commits.
+     */
+    public void remove(Long id) {
+        TransactionHooks.afterCommit(() -> apply(Collections.singletonMap(id, null)));
+    }
+
+    /**
+     * Drop the snapshot once the current transaction commits; the next reader reloads it.
+     */
+    public void invalidate() {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (writeLock) {
+                invalidations++;
+                current = null;
+                notifyListeners(CatalogListener::onInvalidate);
+            }
+            log.debug("Book catalog invalidated");
+        });
+    }
+
+    private CatalogSnapshot usable() {
+        CatalogSnapshot snapshot = current;
+        return snapshot != null && refreshes.isUsable(loadedAt) ? snapshot : null;
+    }
+
+    /**
+     * Publish the last snapshot again, due for a refresh, so readers stop waiting on the database.
+     */
+    private CatalogSnapshot fallBack(RuntimeException ex) {
+        synchronized (writeLock) {
+            CatalogSnapshot snapshot = lastPublished;
+            if (snapshot == null || !refreshes.isUsable(loadedAt)) {
+                throw ex;
+            }
+            if (current == null) {
+                current = snapshot;
+                refreshDue = true;
+                notifyListeners(listener -> listener.onLoad(snapshot));
+                log.warn("Could not load book catalog, serving version {}: {}", snapshot.getVersion(), ex.getMessage());
+            }
+            refreshes.servedStale();
+            return current;
+        }
+    }
+
+    private CatalogSnapshot load(Supplier<? extends Collection<BookResponse>> loader) {
+        long invalidationsAtStart;
+        synchronized (writeLock) {
+            pendingChanges = new LinkedHashMap<>();
+            invalidationsAtStart = invalidations;
+        }
+        try {
+            Collection<BookResponse> books = loader.get();
+            synchronized (writeLock) {
+                CatalogSnapshot snapshot = CatalogSnapshot.of(versions.get(), books)
+                        .patch(versions.incrementAndGet(), pendingChanges);
+                if (invalidations == invalidationsAtStart) {
+                    loadedAt = refreshes.now();
+                    refreshDue = false;
+                    publish(snapshot);
+                    notifyListeners(listener -> listener.onLoad(snapshot));
+                }
+                log.debug("Book catalog loaded with {} books (version {})", snapshot.size(), snapshot.getVersion());
+                return snapshot;
+            }
+        } finally {
+            synchronized (writeLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    private void apply(Map<Long, BookResponse> changes) {
+        synchronized (writeLock) {
+            if (pendingChanges != null) {
+                pendingChanges.putAll(changes);
+            }
+            CatalogSnapshot snapshot = current;
+            if (snapshot == null) {
+                return;
+            }
+            publish(snapshot.patch(versions.incrementAndGet(), changes));
+            changes.forEach((id, book) -> {
+                BookResponse previous = snapshot.findById(id).orElse(null);
+                if (book != null) {
+                    notifyListeners(listener -> listener.onPut(previous, book));
+                } else if (previous != null) {
+                    notifyListeners(listener -> listener.onRemove(previous));
+                }
+            });
+        }
+    }
+
+    private void publish(CatalogSnapshot snapshot) {
+        current = snapshot;
+        lastPublished = snapshot;
+    }
+
+    private void notifyListeners(Consumer<CatalogListener> event) {
+        for (CatalogListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException ex) {
+                log.error("Catalog listener {} failed, disabling it until the next load",
+                        listener.getClass().getSimpleName(), ex);
+                listener.onInvalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory equivalents of the {@code Sort} orders accepted by the book search endpoint.
+ * Nulls sort last in ascending order and first in descending order, like PostgreSQL.
+ */
+public final class BookComparators {
+
+    private static final Comparator<BookResponse> BY_ID = by(BookResponse::getId);
+
+    private static final Map<String, Comparator<BookResponse>> BY_PROPERTY = Map.ofEntries(
+            Map.entry("id", BY_ID),
+            Map.entry("name", by(BookResponse::getName)),
+            Map.entry("genre", by(BookResponse::getGenre)),
+            Map.entry("ageGroup", by(book -> book.getAgeGroup() == null ? null : book.getAgeGroup().name())),
+            Map.entry("price", by(BookResponse::getPrice)),
+            Map.entry("publicationYear", by(BookResponse::getPublicationYear)),
+            Map.entry("author", by(BookResponse::getAuthor)),
+            Map.entry("pages", by(BookResponse::getPages)),
+            Map.entry("language", by(book -> book.getLanguage() == null ? null : book.getLanguage().name())),
+            Map.entry("createdAt", by(BookResponse::getCreatedAt)),
+            Map.entry("updatedAt", by(BookResponse::getUpdatedAt)));
+
+    private BookComparators() {
+    }
+
+    /**
+     * Comparator for the given property and direction, ties broken by id; empty if the property is unknown.
+     */
+    public static Optional<Comparator<BookResponse>> forProperty(String property, Sort.Direction direction) {
+        Comparator<BookResponse> comparator = BY_PROPERTY.get(property);
+        if (comparator == null) {
+            return Optional.empty();
+        }
+        return Optional.of((direction.isDescending() ? comparator.reversed() : comparator).thenComparing(BY_ID));
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<BookResponse> by(Function<BookResponse, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+
+import java.util.Locale;
+
+/**
+ * Low-cardinality book attributes that can be filtered on and counted by {@link BookFacetIndex}.
+ */
+public enum BookFacet {
+    AGE_GROUP("ageGroup"),
+    LANGUAGE("language"),
+    GENRE("genre");
+
+    private final String property;
+
+    BookFacet(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Name of the facet in requests and responses.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * The book's value for this facet as it should be displayed, {@code null} when unset.
+     */
+    String label(BookResponse book) {
+        return switch (this) {
+            case AGE_GROUP -> book.getAgeGroup() != null ? book.getAgeGroup().name() : null;
+            case LANGUAGE -> book.getLanguage() != null ? book.getLanguage().name() : null;
+            case GENRE -> book.getGenre() != null && !book.getGenre().isBlank() ? book.getGenre().trim() : null;
+        };
+    }
+
+    /**
+     * Case-insensitive key for a facet value.
+     */
+    static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
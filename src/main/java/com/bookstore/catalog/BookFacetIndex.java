@@ -0,0 +1,211 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index of the active books per value of each {@link BookFacet}.
+ * Filtering is a union of the selected values' bitmaps within a facet and an intersection across facets;
+ * counts are cardinalities of those intersections. Book ids are used directly as bit positions.
+ */
+@Component
+public class BookFacetIndex implements CatalogListener {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<BookFacet, Map<String, BitSet>> postings = new EnumMap<>(BookFacet.class);
+    private final Map<BookFacet, Map<String, String>> labels = new EnumMap<>(BookFacet.class);
+    private boolean ready;
+
+    public BookFacetIndex() {
+        for (BookFacet facet : BookFacet.values()) {
+            postings.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Index built from a snapshot on the spot, for when the shared index is not ready.
+     */
+    public static BookFacetIndex of(CatalogSnapshot snapshot) {
+        BookFacetIndex index = new BookFacetIndex();
+        index.onLoad(snapshot);
+        return index;
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Narrow the candidates down to the selected facet values and count every facet's values.
+     * A facet's counts apply the selections of the other facets only, so they show what selecting
+     * another value of that facet would return.
+     *
+     * @param candidates books to consider, e.g. the matches of a text search
+     * @param selection  selected values per facet, case-insensitive; facets without values do not filter
+     */
+    public Result search(BitSet candidates, Map<BookFacet, ? extends Collection<String>> selection) {
+        lock.readLock().lock();
+        try {
+            Map<BookFacet, BitSet> selected = new EnumMap<>(BookFacet.class);
+            selection.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    selected.put(facet, union(facet, values));
+                }
+            });
+
+            BitSet matches = (BitSet) candidates.clone();
+            selected.values().forEach(matches::and);
+
+            Map<BookFacet, Map<String, Integer>> counts = new EnumMap<>(BookFacet.class);
+            for (BookFacet facet : BookFacet.values()) {
+                BitSet within = (BitSet) candidates.clone();
+                selected.forEach((other, bits) -> {
+                    if (other != facet) {
+                        within.and(bits);
+                    }
+                });
+                counts.put(facet, count(facet, within));
+            }
+            return new Result(matches, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onLoad(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            snapshot.getBooks().forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(BookResponse previous, BookResponse current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous);
+            }
+            add(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(BookResponse removed) {
+        lock.writeLock().lock();
+        try {
+            remove(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInvalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet union(BookFacet facet, Collection<String> values) {
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet posting = postings.get(facet).get(BookFacet.key(value));
+            if (posting != null) {
+                union.or(posting);
+            }
+        }
+        return union;
+    }
+
+    private Map<String, Integer> count(BookFacet facet, BitSet within) {
+        Map<String, Integer> counts = new HashMap<>();
+        postings.get(facet).forEach((key, posting) -> {
+            BitSet intersection = (BitSet) posting.clone();
+            intersection.and(within);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.put(labels.get(facet).get(key), count);
+            }
+        });
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private void add(BookResponse book) {
+        int id = Math.toIntExact(book.getId());
+        for (BookFacet facet : BookFacet.values()) {
+            String label = facet.label(book);
+            if (label != null) {
+                String key = BookFacet.key(label);
+                postings.get(facet).computeIfAbsent(key, k -> new BitSet()).set(id);
+                labels.get(facet).putIfAbsent(key, label);
+            }
+        }
+    }
+
+    private void remove(BookResponse book) {
+        int id = Math.toIntExact(book.getId());
+        for (BookFacet facet : BookFacet.values()) {
+            String label = facet.label(book);
+            if (label == null) {
+                continue;
+            }
+            String key = BookFacet.key(label);
+            BitSet posting = postings.get(facet).get(key);
+            if (posting != null) {
+                posting.clear(id);
+                if (posting.isEmpty()) {
+                    postings.get(facet).remove(key);
+                    labels.get(facet).remove(key);
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        postings.values().forEach(Map::clear);
+        labels.values().forEach(Map::clear);
+    }
+
+    /**
+     * Matching books and the value counts of every facet.
+     */
+    @Value
+    public static class Result {
+        BitSet matches;
+        Map<BookFacet, Map<String, Integer>> counts;
+    }
+}
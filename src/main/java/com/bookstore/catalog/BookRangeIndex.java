@@ -0,0 +1,253 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sorted primitive indexes for range filters: price in cents and publication date in epoch days,
+ * each kept as a sorted {@code long[]} of keys with a parallel {@code int[]} of book ids.
+ * A range lookup is two binary searches and a scan of the ids in between. The arrays are replaced,
+ * never modified, so readers need no lock.
+ */
+@Component
+public class BookRangeIndex implements CatalogListener {
+
+    /**
+     * Attributes with a range index.
+     */
+    public enum Attribute {
+        PRICE_CENTS,
+        PUBLICATION_EPOCH_DAY;
+
+        private static final long ABSENT = Long.MIN_VALUE;
+
+        long key(BookResponse book) {
+            return switch (this) {
+                case PRICE_CENTS -> book.getPrice() != null ? cents(book.getPrice(), RoundingMode.HALF_UP) : ABSENT;
+                case PUBLICATION_EPOCH_DAY -> book.getPublicationYear() != null
+                        ? book.getPublicationYear().toEpochDay() : ABSENT;
+            };
+        }
+    }
+
+    private static final Sorted EMPTY = new Sorted(new long[0], new int[0]);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(2);
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(Long.MIN_VALUE).movePointLeft(2);
+
+    private volatile Map<Attribute, Sorted> indexes = emptyIndexes();
+    private volatile boolean ready;
+
+    /**
+     * Index built from a snapshot on the spot, for when the shared index is not ready.
+     */
+    public static BookRangeIndex of(CatalogSnapshot snapshot) {
+        BookRangeIndex index = new BookRangeIndex();
+        index.onLoad(snapshot);
+        return index;
+    }
+
+    /**
+     * Price in whole cents, rounded with the given mode. Prices beyond the range of {@code long} cents, which can
+     * only come from a filter, are clamped to it.
+     */
+    public static long cents(BigDecimal price, RoundingMode rounding) {
+        if (price.compareTo(MAX_PRICE) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (price.compareTo(MIN_PRICE) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the books whose key lies in {@code [min, max]}; books without a value never match.
+     */
+    public BitSet range(Attribute attribute, long min, long max) {
+        Sorted sorted = indexes.get(attribute);
+        BitSet matches = new BitSet();
+        int from = lowerBound(sorted.keys, min);
+        int to = max == Long.MAX_VALUE ? sorted.keys.length : lowerBound(sorted.keys, max + 1);
+        for (int i = from; i < to; i++) {
+            matches.set(sorted.ids[i]);
+        }
+        return matches;
+    }
+
+    @Override
+    public void onLoad(CatalogSnapshot snapshot) {
+        Map<Attribute, Sorted> loaded = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            long[] keys = new long[snapshot.size()];
+            int[] ids = new int[snapshot.size()];
+            int size = 0;
+            for (BookResponse book : snapshot.getBooks()) {
+                long key = attribute.key(book);
+                if (key != Attribute.ABSENT) {
+                    keys[size] = key;
+                    ids[size] = Math.toIntExact(book.getId());
+                    size++;
+                }
+            }
+            keys = Arrays.copyOf(keys, size);
+            ids = Arrays.copyOf(ids, size);
+            sort(keys, ids, new long[size], new int[size], 0, size);
+            loaded.put(attribute, new Sorted(keys, ids));
+        }
+        indexes = loaded;
+        ready = true;
+    }
+
+    @Override
+    public void onPut(BookResponse previous, BookResponse current) {
+        Map<Attribute, Sorted> updated = new EnumMap<>(indexes);
+        for (Attribute attribute : Attribute.values()) {
+            Sorted sorted = updated.get(attribute);
+            if (previous != null) {
+                sorted = sorted.without(attribute.key(previous), Math.toIntExact(previous.getId()));
+            }
+            sorted = sorted.with(attribute.key(current), Math.toIntExact(current.getId()));
+            updated.put(attribute, sorted);
+        }
+        indexes = updated;
+    }
+
+    @Override
+    public void onRemove(BookResponse removed) {
+        Map<Attribute, Sorted> updated = new EnumMap<>(indexes);
+        for (Attribute attribute : Attribute.values()) {
+            updated.put(attribute, updated.get(attribute)
+                    .without(attribute.key(removed), Math.toIntExact(removed.getId())));
+        }
+        indexes = updated;
+    }
+
+    @Override
+    public void onInvalidate() {
+        ready = false;
+        indexes = emptyIndexes();
+    }
+
+    private static Map<Attribute, Sorted> emptyIndexes() {
+        Map<Attribute, Sorted> empty = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            empty.put(attribute, EMPTY);
+        }
+        return empty;
+    }
+
+    /**
+     * First position whose key is {@code >= key}.
+     */
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position whose (key, id) pair is {@code >=} the given one.
+     */
+    private static int position(long[] keys, int[] ids, long key, int id) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key || (keys[mid] == key && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Merge sort of the parallel arrays by (key, id), without boxing.
+     */
+    private static void sort(long[] keys, int[] ids, long[] keyBuffer, int[] idBuffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(keys, ids, keyBuffer, idBuffer, from, mid);
+        sort(keys, ids, keyBuffer, idBuffer, mid, to);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            boolean takeLeft = right >= to || (left < mid
+                    && (keys[left] < keys[right] || (keys[left] == keys[right] && ids[left] <= ids[right])));
+            if (takeLeft) {
+                keyBuffer[i] = keys[left];
+                idBuffer[i] = ids[left++];
+            } else {
+                keyBuffer[i] = keys[right];
+                idBuffer[i] = ids[right++];
+            }
+        }
+        System.arraycopy(keyBuffer, from, keys, from, to - from);
+        System.arraycopy(idBuffer, from, ids, from, to - from);
+    }
+
+    private static final class Sorted {
+        private final long[] keys;
+        private final int[] ids;
+
+        private Sorted(long[] keys, int[] ids) {
+            this.keys = keys;
+            this.ids = ids;
+        }
+
+        Sorted with(long key, int id) {
+            if (key == Attribute.ABSENT) {
+                return this;
+            }
+            int at = position(keys, ids, key, id);
+            long[] newKeys = new long[keys.length + 1];
+            int[] newIds = new int[ids.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(ids, 0, newIds, 0, at);
+            newKeys[at] = key;
+            newIds[at] = id;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(ids, at, newIds, at + 1, ids.length - at);
+            return new Sorted(newKeys, newIds);
+        }
+
+        Sorted without(long key, int id) {
+            if (key == Attribute.ABSENT) {
+                return this;
+            }
+            int at = position(keys, ids, key, id);
+            if (at == keys.length || keys[at] != key || ids[at] != id) {
+                return this;
+            }
+            long[] newKeys = new long[keys.length - 1];
+            int[] newIds = new int[ids.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+            System.arraycopy(ids, at + 1, newIds, at, ids.length - at - 1);
+            return new Sorted(newKeys, newIds);
+        }
+    }
+}
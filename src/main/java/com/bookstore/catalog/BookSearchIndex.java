@@ -0,0 +1,195 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over the name, author and genre of active books.
+ * Answers the same case-insensitive substring match as {@code BookRepository.findResponsesWithSearch}:
+ * candidates come from intersecting the posting lists of the term's trigrams and are then verified,
+ * so the result is exact. Book ids are used directly as bit positions.
+ */
+@Component
+public class BookSearchIndex implements CatalogListener {
+
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final Map<Integer, String> documents = new HashMap<>();
+    private final BitSet all = new BitSet();
+    private boolean ready;
+
+    /**
+     * Index built from a snapshot on the spot, for when the shared index is not ready.
+     */
+    public static BookSearchIndex of(CatalogSnapshot snapshot) {
+        BookSearchIndex index = new BookSearchIndex();
+        index.onLoad(snapshot);
+        return index;
+    }
+
+    /**
+     * Whether the index reflects the catalog and can be queried.
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the books whose name, author or genre contain the term, ignoring case.
+     * A blank term matches every book.
+     */
+    public BitSet search(String term) {
+        lock.readLock().lock();
+        try {
+            if (term == null || term.isBlank()) {
+                return (BitSet) all.clone();
+            }
+            String needle = normalize(term);
+            return needle.length() < GRAM ? scan(needle) : lookup(needle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onLoad(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            snapshot.getBooks().forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(BookResponse previous, BookResponse current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous.getId());
+            }
+            add(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(BookResponse removed) {
+        lock.writeLock().lock();
+        try {
+            remove(removed.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInvalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet lookup(String needle) {
+        BitSet candidates = null;
+        for (String gram : grams(needle)) {
+            BitSet posting = postings.get(gram);
+            if (posting == null) {
+                return new BitSet();
+            }
+            if (candidates == null) {
+                candidates = (BitSet) posting.clone();
+            } else {
+                candidates.and(posting);
+            }
+        }
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            if (!documents.get(id).contains(needle)) {
+                candidates.clear(id);
+            }
+        }
+        return candidates;
+    }
+
+    private BitSet scan(String needle) {
+        BitSet matches = new BitSet();
+        documents.forEach((id, text) -> {
+            if (text.contains(needle)) {
+                matches.set(id);
+            }
+        });
+        return matches;
+    }
+
+    private void add(BookResponse book) {
+        int id = Math.toIntExact(book.getId());
+        String text = normalize(book.getName()) + FIELD_SEPARATOR
+                + normalize(book.getAuthor()) + FIELD_SEPARATOR
+                + normalize(book.getGenre());
+        documents.put(id, text);
+        all.set(id);
+        for (String gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new BitSet()).set(id);
+        }
+    }
+
+    private void remove(Long bookId) {
+        int id = Math.toIntExact(bookId);
+        String text = documents.remove(id);
+        all.clear(id);
+        if (text == null) {
+            return;
+        }
+        for (String gram : grams(text)) {
+            BitSet posting = postings.get(gram);
+            if (posting != null) {
+                posting.clear(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        documents.clear();
+        all.clear();
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
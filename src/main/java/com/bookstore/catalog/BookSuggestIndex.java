@@ -0,0 +1,303 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix trie over the names and authors of active books, for autocomplete.
+ * Every word start of a value is a key, so "gats" completes "The Great Gatsby". Keys are folded to
+ * lower case without accents. Each node caches its best {@link #MAX_LIMIT} completions; a change only
+ * clears the caches on the path of the keys it touches.
+ */
+@Component
+public class BookSuggestIndex implements CatalogListener {
+
+    public static final int MAX_LIMIT = 20;
+
+    static final String NAME = "name";
+    static final String AUTHOR = "author";
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::getCount).reversed()
+            .thenComparingInt(ranked -> ranked.getEntry().getText().length())
+            .thenComparing(ranked -> ranked.getEntry().getText())
+            .thenComparing(ranked -> ranked.getEntry().getField());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private boolean ready;
+
+    /**
+     * Index built from a snapshot on the spot, for when the shared index is not ready.
+     */
+    public static BookSuggestIndex of(CatalogSnapshot snapshot) {
+        BookSuggestIndex index = new BookSuggestIndex();
+        index.onLoad(snapshot);
+        return index;
+    }
+
+    /**
+     * Lower case without accents, so "Márquez" and "marquez" are the same key.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names and authors with a word starting with the prefix, ignoring case and accents. Values shared by more
+     * books come first, then shorter ones.
+     *
+     * @param limit at most {@link #MAX_LIMIT}
+     */
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        String key = fold(prefix).strip();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return node.top().stream()
+                    .limit(Math.min(limit, MAX_LIMIT))
+                    .map(ranked -> new BookSuggestion(ranked.getEntry().getText(), ranked.getEntry().getField()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onLoad(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            snapshot.getBooks().forEach(book -> update(book, 1));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(BookResponse previous, BookResponse current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                update(previous, -1);
+            }
+            update(current, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(BookResponse removed) {
+        lock.writeLock().lock();
+        try {
+            update(removed, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInvalidate() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(BookResponse book, int delta) {
+        update(NAME, book.getName(), delta);
+        update(AUTHOR, book.getAuthor(), delta);
+    }
+
+    private void update(String field, String value, int delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(field, value.strip());
+        String folded = fold(entry.getText());
+        for (int start = 0; start < folded.length(); start++) {
+            boolean wordStart = Character.isLetterOrDigit(folded.charAt(start))
+                    && (start == 0 || !Character.isLetterOrDigit(folded.charAt(start - 1)));
+            if (wordStart) {
+                update(folded.substring(start), entry, delta);
+            }
+        }
+    }
+
+    private void update(String key, Entry entry, int delta) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = delta > 0 ? node.childOrCreate(key.charAt(i)) : node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        if (!node.count(entry, delta)) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            current.top = null;
+            if (i > 0 && current.isEmpty()) {
+                path.get(i - 1).removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Trie node with children in sorted parallel arrays.
+     */
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Map<Entry, Integer> entries;
+        private volatile List<Ranked> top;
+
+        Node child(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            return at >= 0 ? children[at] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            if (at >= 0) {
+                return children[at];
+            }
+            int insert = -at - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            newLabels[insert] = label;
+            newChildren[insert] = child;
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            if (at < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(labels, at + 1, newLabels, at, labels.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        /**
+         * Adjust how many books have this entry under this key; {@code false} when nothing changed.
+         */
+        boolean count(Entry entry, int delta) {
+            if (delta < 0 && (entries == null || !entries.containsKey(entry))) {
+                return false;
+            }
+            if (entries == null) {
+                entries = new HashMap<>();
+            }
+            if (entries.merge(entry, delta, Integer::sum) <= 0) {
+                entries.remove(entry);
+            }
+            if (entries.isEmpty()) {
+                entries = null;
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return entries == null && children.length == 0;
+        }
+
+        /**
+         * Best completions in this subtree, merged from the children's cached lists.
+         * Recomputing is idempotent, so concurrent readers may both fill the cache.
+         */
+        List<Ranked> top() {
+            List<Ranked> cached = top;
+            if (cached != null) {
+                return cached;
+            }
+            Map<Entry, Ranked> best = new LinkedHashMap<>();
+            if (entries != null) {
+                entries.forEach((entry, count) -> best.put(entry, new Ranked(entry, count)));
+            }
+            for (Node child : children) {
+                for (Ranked ranked : child.top()) {
+                    best.merge(ranked.getEntry(), ranked,
+                            (left, right) -> RANKING.compare(left, right) <= 0 ? left : right);
+                }
+            }
+            cached = best.values().stream().sorted(RANKING).limit(MAX_LIMIT).toList();
+            top = cached;
+            return cached;
+        }
+    }
+
+    @Value
+    private static class Entry {
+        String field;
+        String text;
+    }
+
+    @Value
+    private static class Ranked {
+        Entry entry;
+        int count;
+    }
+}
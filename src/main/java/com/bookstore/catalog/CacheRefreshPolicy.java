@@ -0,0 +1,26 @@
+package com.bookstore.catalog;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * How long cached books stay fresh, and how long they may be served stale after that.
+ * Past {@code refreshAfter} a value is still returned while it is reloaded on the {@code executor};
+ * a failed reload leaves it in place until {@code refreshAfter + staleIfError} after its last successful load.
+ */
+@Value
+public class CacheRefreshPolicy {
+
+    Duration refreshAfter;
+    Duration staleIfError;
+    Executor executor;
+
+    /**
+     * The longest a value is kept after it was loaded.
+     */
+    public Duration getExpireAfter() {
+        return refreshAfter.plus(staleIfError);
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookstore.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts reads of one class of keys as {@code bookstore.cache.requests} by {@code result}, {@code hit} or
+ * {@code miss}. Key classes are {@code all} for the whole catalog and {@code name} for single books, so the two
+ * can be sized apart. Stale values served count as hits.
+ */
+final class CacheRequests {
+
+    static final String METRIC = "bookstore.cache.requests";
+    static final String ALL = "all";
+    static final String NAME = "name";
+
+    private final Counter hits;
+    private final Counter misses;
+
+    CacheRequests(MeterRegistry registry, String cache, String keyClass) {
+        this.hits = Counter.builder(METRIC)
+                .description("Cache reads answered from memory")
+                .tags("cache", cache, "key", keyClass, "result", "hit")
+                .register(registry);
+        this.misses = Counter.builder(METRIC)
+                .description("Cache reads that had to load")
+                .tags("cache", cache, "key", keyClass, "result", "miss")
+                .register(registry);
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void hits(int count) {
+        hits.increment(count);
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void misses(int count) {
+        misses.increment(count);
+    }
+}
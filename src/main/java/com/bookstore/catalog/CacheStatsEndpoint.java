@@ -0,0 +1,105 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size and hottest keys of every Caffeine cache, plus the size of the catalog, at {@code /actuator/cachestats}
+ * ({@code /actuator/cachestats/{hottest}} for more or fewer keys),
+ * for setting {@code bookstore.cache.<name>.max-size} from production traffic. Sizes are the
+ * {@link RetainedSizeWeigher} estimates the caches are bounded by. Hit and miss counts over time are in the
+ * {@code cache.gets} and {@code bookstore.cache.requests} metrics.
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+    static final int DEFAULT_HOTTEST = 10;
+    static final int MAX_HOTTEST = 100;
+
+    private final CacheManager cacheManager;
+    private final BookCatalog bookCatalog;
+
+    @ReadOperation
+    public Map<String, Usage> caches() {
+        return caches(DEFAULT_HOTTEST);
+    }
+
+    /**
+     * @param hottest how many of the hottest keys to list per cache, in Caffeine's retention order
+     */
+    @ReadOperation
+    public Map<String, Usage> caches(@Selector int hottest) {
+        int limit = Math.max(0, Math.min(hottest, MAX_HOTTEST));
+        Map<String, Usage> caches = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null
+                    && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caches.put(name, usage(name, caffeine, limit));
+            }
+        }
+        bookCatalog.current().ifPresent(catalog -> caches.put(BookCatalog.CATALOG, usage(catalog)));
+        return caches;
+    }
+
+    private static <K, V> Usage usage(String name, com.github.benmanes.caffeine.cache.Cache<K, V> cache, int limit) {
+        // apply pending writes, so the weighted size counts them
+        cache.cleanUp();
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+        Policy.Eviction<K, V> eviction = cache.policy().eviction().orElse(null);
+        List<String> hottestKeys = null;
+        Long bytes = null;
+        Long maximumBytes = null;
+        if (eviction != null) {
+            if (eviction.isWeighted()) {
+                bytes = eviction.weightedSize().orElseThrow();
+                maximumBytes = eviction.getMaximum();
+            }
+            // several generations of a book may be cached until the old ones are evicted
+            hottestKeys = eviction.hottest(limit).keySet().stream()
+                    .map(key -> name.equals(BookCache.CACHE_NAME) ? BookCache.name((String) key) : String.valueOf(key))
+                    .distinct()
+                    .toList();
+        }
+        return new Usage(cache.estimatedSize(), bytes, maximumBytes, stats.hitRate(), stats.evictionCount(),
+                hottestKeys);
+    }
+
+    private static Usage usage(CatalogSnapshot catalog) {
+        long bytes = 0;
+        for (BookResponse book : catalog.getBooks()) {
+            bytes += RetainedSizeWeigher.sizeOf(book);
+        }
+        return new Usage(catalog.size(), bytes, null, null, null, null);
+    }
+
+    /**
+     * One cache: entries, estimated bytes against the configured maximum, hit ratio and evictions since startup,
+     * and its hottest keys. Fields a cache does not track are left out.
+     */
+    @Value
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Usage {
+        long entries;
+        Long bytes;
+        Long maximumBytes;
+        Double hitRatio;
+        Long evictions;
+        List<String> hottestKeys;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+
+/**
+ * Receives {@link BookCatalog} changes to keep a derived in-memory index in sync.
+ * Callbacks are delivered one at a time, in commit order, right after the matching snapshot is published.
+ */
+public interface CatalogListener {
+
+    /**
+     * The catalog was loaded from the database; rebuild from scratch.
+     */
+    void onLoad(CatalogSnapshot snapshot);
+
+    /**
+     * A book was added or replaced. {@code previous} is {@code null} for new books.
+     */
+    void onPut(BookResponse previous, BookResponse current);
+
+    /**
+     * A book was removed from the active catalog.
+     */
+    void onRemove(BookResponse removed);
+
+    /**
+     * The catalog was dropped; the index must not be used until the next {@link #onLoad}.
+     */
+    void onInvalidate();
+}
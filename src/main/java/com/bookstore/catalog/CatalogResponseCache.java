@@ -0,0 +1,83 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.ApiResponse;
+import com.bookstore.dto.response.BookFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full catalog response, serialized once per catalog version.
+ * Holds the {@code ApiResponse} JSON bytes and a gzip copy of them. Requests for the same version
+ * share both arrays; the first request after a mutation renders the new version.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Object renderLock = new Object();
+    private volatile Rendered rendered;
+
+    public Rendered render(CatalogSnapshot catalog) {
+        Rendered current = rendered;
+        if (current != null && current.getVersion() == catalog.getVersion()) {
+            return current;
+        }
+        synchronized (renderLock) {
+            current = rendered;
+            if (current == null || current.getVersion() != catalog.getVersion()) {
+                current = serialize(catalog);
+                // never replace a newer rendering with an older one
+                if (rendered == null || rendered.getVersion() < current.getVersion()) {
+                    rendered = current;
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * The catalog response with only the given book fields. Not cached, as selections vary per client.
+     */
+    public byte[] render(CatalogSnapshot catalog, BookFields fields) {
+        try {
+            return objectMapper.writer(fields.filters()).writeValueAsBytes(ApiResponse.success(catalog.getBooks()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not serialize book catalog", ex);
+        }
+    }
+
+    private Rendered serialize(CatalogSnapshot catalog) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(catalog.getBooks()));
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write(json);
+            }
+            log.debug("Rendered catalog version {}: {} bytes, {} gzipped", catalog.getVersion(), json.length,
+                    gzipped.size());
+            return new Rendered(catalog.getVersion(), json, gzipped.toByteArray());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not serialize book catalog", ex);
+        }
+    }
+
+    /**
+     * Serialized catalog of one version. The arrays are shared and must not be modified.
+     */
+    @Value
+    public static class Rendered {
+        long version;
+        byte[] json;
+        byte[] gzip;
+    }
+}
@@ -0,0 +1,232 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the active book catalog.
+ * A mutation never changes a published snapshot; it produces a new one that shares
+ * the untouched book instances with its predecessor, along with the parts of its book
+ * list and lookup maps that hold no changed book.
+ */
+public final class CatalogSnapshot {
+
+    private static final int CHUNK_BITS = 6;
+    private static final int CHUNK = 1 << CHUNK_BITS;
+
+    private final long version;
+    /** Books by position in load order, new books appended; a removed book leaves an empty slot. */
+    private final BookResponse[][] slots;
+    private final int slotCount;
+    private final ShardedMap<Long, Integer> slotsById;
+    private final ShardedMap<String, BookResponse> booksByName;
+    private final int size;
+    private final long fingerprint;
+    private final LocalDateTime lastModified;
+    private volatile List<BookResponse> books;
+
+    private CatalogSnapshot(long version, BookResponse[][] slots, int slotCount,
+            ShardedMap<Long, Integer> slotsById, ShardedMap<String, BookResponse> booksByName,
+            long fingerprint, LocalDateTime lastModified) {
+        this.version = version;
+        this.slots = slots;
+        this.slotCount = slotCount;
+        this.slotsById = slotsById;
+        this.booksByName = booksByName;
+        this.size = slotsById.size();
+        this.fingerprint = fingerprint;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Create a snapshot from a freshly loaded list of books.
+     */
+    public static CatalogSnapshot of(long version, Collection<BookResponse> books) {
+        Map<Long, BookResponse> booksById = new LinkedHashMap<>(Math.max(16, books.size() * 4 / 3 + 1));
+        for (BookResponse book : books) {
+            booksById.put(book.getId(), book);
+        }
+
+        BookResponse[][] slots = new BookResponse[chunks(booksById.size())][];
+        Map<Long, Integer> slotsById = new HashMap<>(Math.max(16, booksById.size() * 4 / 3 + 1));
+        Map<String, BookResponse> booksByName = new HashMap<>(Math.max(16, booksById.size() * 4 / 3 + 1));
+        long sum = 0;
+        int slot = 0;
+        for (BookResponse book : booksById.values()) {
+            if ((slot & (CHUNK - 1)) == 0) {
+                slots[slot >>> CHUNK_BITS] = new BookResponse[CHUNK];
+            }
+            slots[slot >>> CHUNK_BITS][slot & (CHUNK - 1)] = book;
+            slotsById.put(book.getId(), slot++);
+            booksByName.put(book.getName(), book);
+            sum += fingerprint(book);
+        }
+        return new CatalogSnapshot(version, slots, slot, ShardedMap.of(slotsById), ShardedMap.of(booksByName),
+                sum, latest(booksById.values()));
+    }
+
+    /**
+     * Create a new snapshot with the given changes applied.
+     * A {@code null} value removes the book with that id. Copies only the parts of this snapshot holding the
+     * changed books; once removals have left more empty slots than books, the book list is compacted.
+     */
+    public CatalogSnapshot patch(long newVersion, Map<Long, BookResponse> changes) {
+        BookResponse[][] patched = Arrays.copyOf(slots, chunks(slotCount + changes.size()));
+        boolean[] copied = new boolean[patched.length];
+        Map<Long, Integer> slotChanges = new HashMap<>();
+        Map<String, BookResponse> nameChanges = new HashMap<>();
+        int count = slotCount;
+        int patchedSize = size;
+        long sum = fingerprint;
+        LocalDateTime latest = lastModified;
+        LocalDateTime removedLatest = null;
+        for (Map.Entry<Long, BookResponse> change : changes.entrySet()) {
+            Integer slot = slotsById.get(change.getKey());
+            BookResponse previous = slot != null ? patched[slot >>> CHUNK_BITS][slot & (CHUNK - 1)] : null;
+            BookResponse book = change.getValue();
+            if (previous != null) {
+                String name = previous.getName();
+                if ((nameChanges.containsKey(name) ? nameChanges.get(name) : booksByName.get(name)) == previous) {
+                    nameChanges.put(name, null);
+                }
+                sum -= fingerprint(previous);
+                patchedSize--;
+                if (previous.getUpdatedAt() != null && previous.getUpdatedAt().equals(latest)) {
+                    removedLatest = latest;
+                }
+            }
+            if (book == null) {
+                if (slot != null) {
+                    set(patched, copied, slot, null);
+                    slotChanges.put(change.getKey(), null);
+                }
+                continue;
+            }
+            if (slot == null) {
+                slot = count++;
+                slotChanges.put(change.getKey(), slot);
+            }
+            set(patched, copied, slot, book);
+            nameChanges.put(book.getName(), book);
+            sum += fingerprint(book);
+            patchedSize++;
+            if (book.getUpdatedAt() != null && (latest == null || book.getUpdatedAt().isAfter(latest))) {
+                latest = book.getUpdatedAt();
+            }
+        }
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(newVersion, Arrays.copyOf(patched, chunks(count)), count,
+                slotsById.with(slotChanges), booksByName.with(nameChanges), sum, latest);
+        if (count - patchedSize > Math.max(CHUNK, patchedSize)) {
+            return of(newVersion, snapshot.getBooks());
+        }
+        if (removedLatest != null && !latest.isAfter(removedLatest)) {
+            // the latest book was replaced by an older version or removed
+            return new CatalogSnapshot(newVersion, snapshot.slots, count, snapshot.slotsById, snapshot.booksByName,
+                    sum, latest(snapshot.getBooks()));
+        }
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * All active books, in load order with new books appended.
+     */
+    public List<BookResponse> getBooks() {
+        List<BookResponse> list = books;
+        if (list == null) {
+            List<BookResponse> live = new ArrayList<>(size);
+            for (int slot = 0; slot < slotCount; slot++) {
+                BookResponse book = slots[slot >>> CHUNK_BITS][slot & (CHUNK - 1)];
+                if (book != null) {
+                    live.add(book);
+                }
+            }
+            list = Collections.unmodifiableList(live);
+            books = list;
+        }
+        return list;
+    }
+
+    public Optional<BookResponse> findById(Long id) {
+        Integer slot = slotsById.get(id);
+        return slot != null ? Optional.of(slots[slot >>> CHUNK_BITS][slot & (CHUNK - 1)]) : Optional.empty();
+    }
+
+    public Optional<BookResponse> findByName(String name) {
+        return Optional.ofNullable(booksByName.get(name));
+    }
+
+    /**
+     * Order-independent hash of the ids and update timestamps of all books: equal for two snapshots
+     * holding the same book versions, whichever way they were built.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Latest update time of the books in this catalog, {@code null} for an empty catalog without timestamps.
+     * Depends only on the books, so every node reports the same value for the same catalog. A removal may not
+     * advance it, but it always changes the fingerprint and the size.
+     */
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int chunks(int slotCount) {
+        return (slotCount + CHUNK - 1) >>> CHUNK_BITS;
+    }
+
+    private static void set(BookResponse[][] slots, boolean[] copied, int slot, BookResponse book) {
+        int chunk = slot >>> CHUNK_BITS;
+        if (!copied[chunk]) {
+            slots[chunk] = slots[chunk] != null ? slots[chunk].clone() : new BookResponse[CHUNK];
+            copied[chunk] = true;
+        }
+        slots[chunk][slot & (CHUNK - 1)] = book;
+    }
+
+    private static LocalDateTime latest(Collection<BookResponse> books) {
+        LocalDateTime latest = null;
+        for (BookResponse book : books) {
+            if (book.getUpdatedAt() != null && (latest == null || book.getUpdatedAt().isAfter(latest))) {
+                latest = book.getUpdatedAt();
+            }
+        }
+        return latest;
+    }
+
+    private static long fingerprint(BookResponse book) {
+        long hash = book.getId() != null ? book.getId() : 0L;
+        if (book.getUpdatedAt() != null) {
+            hash = hash * 31 + book.getUpdatedAt().toEpochSecond(ZoneOffset.UTC);
+            hash = hash * 31 + book.getUpdatedAt().getNano();
+        }
+        // MurmurHash3 finalizer, so that summing spreads well
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,136 @@
+package com.bookstore.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Background reloads of stale entries for one cache, at most one per key at a time.
+ * Ages are measured from {@link #now()}. After a reload fails because the database is unavailable, no reload
+ * starts for {@link #RETRY_DELAY}, so an outage costs one failed query per delay rather than one per read.
+ * Counts {@code bookstore.cache.stale} for values served past their refresh time and
+ * {@code bookstore.cache.refreshes} by {@code result}.
+ */
+@Slf4j
+final class RefreshAhead<K> {
+
+    static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final String cache;
+    private final long refreshAfter;
+    private final long expireAfter;
+    private final CacheRefreshPolicy policy;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter stale;
+    private final Counter refreshed;
+    private final Counter failed;
+
+    private volatile boolean pausing;
+    private volatile long pausedUntil;
+
+    RefreshAhead(CacheRefreshPolicy policy, MeterRegistry registry, String cache) {
+        this.cache = cache;
+        this.policy = policy;
+        this.refreshAfter = policy.getRefreshAfter().toNanos();
+        this.expireAfter = policy.getExpireAfter().toNanos();
+        this.stale = Counter.builder("bookstore.cache.stale")
+                .description("Cached values served past their refresh time")
+                .tags("cache", cache)
+                .register(registry);
+        this.refreshed = Counter.builder("bookstore.cache.refreshes")
+                .description("Background reloads of stale cached values")
+                .tags("cache", cache, "result", "success")
+                .register(registry);
+        this.failed = Counter.builder("bookstore.cache.refreshes")
+                .description("Background reloads of stale cached values")
+                .tags("cache", cache, "result", "failure")
+                .register(registry);
+    }
+
+    long now() {
+        return System.nanoTime();
+    }
+
+    boolean isFresh(long loadedAt) {
+        return now() - loadedAt < refreshAfter;
+    }
+
+    /**
+     * Whether a value loaded at the given time may still be served, fresh or stale.
+     */
+    boolean isUsable(long loadedAt) {
+        return now() - loadedAt < expireAfter;
+    }
+
+    void servedStale() {
+        servedStale(1);
+    }
+
+    void servedStale(int count) {
+        stale.increment(count);
+    }
+
+    void refresh(K key, Runnable reload) {
+        refresh(Set.of(key), keys -> reload.run());
+    }
+
+    /**
+     * Reload the given keys in the background, leaving out those already being reloaded.
+     */
+    void refresh(Collection<K> keys, Consumer<Set<K>> reload) {
+        if (pausing && now() - pausedUntil < 0) {
+            return;
+        }
+        Set<K> claimed = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (refreshing.add(key)) {
+                claimed.add(key);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            policy.getExecutor().execute(() -> run(claimed, reload));
+        } catch (RejectedExecutionException ex) {
+            refreshing.removeAll(claimed);
+            log.debug("Skipped refresh of {} {}: {}", cache, claimed, ex.getMessage());
+        }
+    }
+
+    /**
+     * Whether the exception means the database could not be reached, as opposed to the value being gone.
+     */
+    static boolean isUnavailable(Throwable ex) {
+        return ex instanceof DataAccessException || ex instanceof TransactionException;
+    }
+
+    private void run(Set<K> keys, Consumer<Set<K>> reload) {
+        try {
+            reload.accept(keys);
+            refreshed.increment();
+            pausing = false;
+        } catch (RuntimeException ex) {
+            failed.increment();
+            if (isUnavailable(ex)) {
+                pausedUntil = now() + RETRY_DELAY.toNanos();
+                pausing = true;
+                log.warn("Could not refresh {} {}, serving stale values: {}", cache, keys, ex.getMessage());
+            } else {
+                log.debug("Refresh of {} {} failed: {}", cache, keys, ex.getMessage());
+            }
+        } finally {
+            refreshing.removeAll(keys);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Weighs cache entries by an estimate of the heap they retain, in bytes, so caches can be bounded by memory
+ * rather than entry count. Assumes a 64-bit JVM with compressed references and compact strings; enums are
+ * shared and weigh nothing. Values of unknown types weigh {@link #UNKNOWN_VALUE_BYTES}.
+ */
+public class RetainedSizeWeigher implements Weigher<Object, Object> {
+
+    static final int UNKNOWN_VALUE_BYTES = 1024;
+    // Caffeine's node and its slot in the hash table
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    // a boxed Long or Integer
+    private static final int BOXED_BYTES = 16;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = ENTRY_OVERHEAD_BYTES + sizeOf(key) + sizeOf(value);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    static long sizeOf(Object value) {
+        if (value == null || value instanceof Enum<?>) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return sizeOf(string);
+        }
+        if (value instanceof BookCache.Entry entry) {
+            return align(OBJECT_HEADER_BYTES + REFERENCE_BYTES + Long.BYTES) + sizeOf(entry.getBook());
+        }
+        if (value instanceof BookResponse book) {
+            return sizeOf(book);
+        }
+        return UNKNOWN_VALUE_BYTES;
+    }
+
+    static long sizeOf(BookResponse book) {
+        return align(OBJECT_HEADER_BYTES + 13 * REFERENCE_BYTES)
+                + (book.getId() != null ? BOXED_BYTES : 0)
+                + sizeOf(book.getName())
+                + sizeOf(book.getGenre())
+                + sizeOf(book.getPrice())
+                + sizeOf(book.getPublicationYear())
+                + sizeOf(book.getAuthor())
+                + (book.getPages() != null ? BOXED_BYTES : 0)
+                + sizeOf(book.getCharacteristics())
+                + sizeOf(book.getDescription())
+                + sizeOf(book.getCreatedAt())
+                + sizeOf(book.getUpdatedAt());
+    }
+
+    static long sizeOf(String string) {
+        if (string == null) {
+            return 0;
+        }
+        boolean latin1 = string.chars().allMatch(c -> c < 256);
+        long bytes = latin1 ? string.length() : 2L * string.length();
+        // the String itself (header, hash, coder, array reference) plus its backing byte array
+        return 24 + align(ARRAY_HEADER_BYTES + bytes);
+    }
+
+    private static long sizeOf(BigDecimal value) {
+        // small unscaled values are kept in a long, larger ones in a BigInteger
+        return value == null ? 0 : 40 + (value.precision() > 18 ? 56 : 0);
+    }
+
+    private static long sizeOf(LocalDate value) {
+        return value == null ? 0 : 24;
+    }
+
+    private static long sizeOf(LocalDateTime value) {
+        // the LocalDateTime with its LocalDate and LocalTime
+        return value == null ? 0 : 72;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.catalog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable hash map split into a fixed number of shards. {@link #with} copies only the shards holding changed
+ * keys and shares all others with this map, so a change of a few keys costs a fraction of a full copy.
+ */
+final class ShardedMap<K, V> {
+
+    static final int SHARDS = 64;
+
+    private final Map<K, V>[] shards;
+    private final int size;
+
+    private ShardedMap(Map<K, V>[] shards, int size) {
+        this.shards = shards;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> ShardedMap<K, V> of(Map<K, V> entries) {
+        Map<K, V>[] shards = new Map[SHARDS];
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shards[shard] = Collections.emptyMap();
+        }
+        return new ShardedMap<K, V>(shards, 0).with(entries);
+    }
+
+    V get(Object key) {
+        return shards[shard(key)].get(key);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * A new map with the given changes applied. A {@code null} value removes the key.
+     */
+    ShardedMap<K, V> with(Map<K, V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        Map<K, V>[] patched = shards.clone();
+        boolean[] copied = new boolean[SHARDS];
+        int patchedSize = size;
+        for (Map.Entry<K, V> change : changes.entrySet()) {
+            int shard = shard(change.getKey());
+            if (!copied[shard]) {
+                patched[shard] = new HashMap<>(patched[shard]);
+                copied[shard] = true;
+            }
+            if (change.getValue() == null) {
+                if (patched[shard].remove(change.getKey()) != null) {
+                    patchedSize--;
+                }
+            } else if (patched[shard].put(change.getKey(), change.getValue()) == null) {
+                patchedSize++;
+            }
+        }
+        return new ShardedMap<>(patched, patchedSize);
+    }
+
+    private static int shard(Object key) {
+        int hash = Objects.hashCode(key);
+        return (hash ^ (hash >>> 16)) & (SHARDS - 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookstore.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * At most one load per key at a time: callers that miss while a load for their key is running wait for its
+ * result, or its exception, instead of querying the database themselves.
+ * Counts {@code bookstore.cache.loads} by {@code result}: {@code loaded} for loads that ran, {@code coalesced}
+ * for callers that shared one. Times every database load in {@code bookstore.cache.load.duration} by
+ * {@code result}, {@code success} or {@code failure}, including loads run through {@link #timed(Supplier)}.
+ */
+final class SingleFlight<K, V> {
+
+    static final String METRIC = "bookstore.cache.loads";
+    static final String DURATION_METRIC = "bookstore.cache.load.duration";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Timer succeeded;
+    private final Timer failed;
+
+    SingleFlight(MeterRegistry registry, String cache) {
+        this.loaded = Counter.builder(METRIC)
+                .description("Cache misses loaded from the database")
+                .tags("cache", cache, "result", "loaded")
+                .register(registry);
+        this.coalesced = Counter.builder(METRIC)
+                .description("Cache misses that waited for another caller's load")
+                .tags("cache", cache, "result", "coalesced")
+                .register(registry);
+        this.succeeded = Timer.builder(DURATION_METRIC)
+                .description("Time taken to load cache misses from the database")
+                .tags("cache", cache, "result", "success")
+                .register(registry);
+        this.failed = Timer.builder(DURATION_METRIC)
+                .description("Time taken to load cache misses from the database")
+                .tags("cache", cache, "result", "failure")
+                .register(registry);
+    }
+
+    /**
+     * Load the value for the key, or join the load already running for it.
+     *
+     * @param cached checked again once this caller is the only loader, as a load may have just finished;
+     *               {@code null} means still missing
+     */
+    V load(K key, Supplier<V> cached, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            V value = cached.get();
+            if (value == null) {
+                value = timed(loader);
+                loaded.increment();
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Run a load that is not coalesced, such as a bulk load, and time it.
+     */
+    <T> T timed(Supplier<T> loader) {
+        long start = System.nanoTime();
+        try {
+            T value = loader.get();
+            succeeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -1,28 +1,61 @@
 package com.bookstore.config;
 
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.CacheRefreshPolicy;
+import com.bookstore.catalog.RetainedSizeWeigher;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Cache configuration using Caffeine.
+ * The {@code books} cache, the only one in use, is bounded by an estimate of the heap its entries retain, see
+ * {@link RetainedSizeWeigher}, set with {@code bookstore.cache.books.max-size} (e.g. {@code 16MB}).
  */
 @Configuration
 @EnableCaching
+@Slf4j
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("books", "clients", "employees");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .recordStats());
+    public CacheManager cacheManager(CacheRefreshPolicy bookRefreshPolicy,
+            @Value("${bookstore.cache.books.max-size:4MB}") DataSize maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // BookCache decides when a book is stale, the cache only drops books nobody may be served anymore
+        Duration expireAfter = bookRefreshPolicy.getExpireAfter();
+        cacheManager.registerCustomCache(BookCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(new RetainedSizeWeigher())
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build());
+        log.debug("Cache '{}' holds up to {} for {}", BookCache.CACHE_NAME, maxSize, expireAfter);
+        // only the cache above, a misspelled name fails instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
         return cacheManager;
     }
+
+    /**
+     * Refresh-ahead and stale-if-error for the book cache and the catalog. Reloads run on Spring Boot's
+     * application task executor.
+     */
+    @Bean
+    public CacheRefreshPolicy bookRefreshPolicy(
+            @Value("${bookstore.cache.books.refresh-after:5m}") Duration refreshAfter,
+            @Value("${bookstore.cache.books.stale-if-error:1h}") Duration staleIfError,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        return new CacheRefreshPolicy(refreshAfter, staleIfError, executor);
+    }
 }
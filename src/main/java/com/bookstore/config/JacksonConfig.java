@@ -0,0 +1,21 @@
+package com.bookstore.config;
+
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration enabling sparse fieldsets on book responses.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer bookFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(BookResponse.class, BookFields.FilterMixin.class)
+                .filters(BookFields.defaultFilters());
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookstore.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica, round robin, and everything else to the primary.
+ * Replicas are checked in the background and skipped while they fail; with none healthy, reads go to the primary.
+ * With a read-your-writes window, a caller's reads stay on the primary for that long after their last commit,
+ * so they do not miss their own changes on a lagging replica. Only authenticated callers are tracked: anonymous
+ * requests and background jobs have no identity to tell them apart, so their reads never pin others to the primary.
+ * <p>
+ * The routing key is read when a connection is opened, so wrap this in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's read-only flag is
+ * only known after it has begun.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+    private volatile List<String> healthy;
+
+    /**
+     * @param replicas            replica pools by name, closed with this data source
+     * @param readYourWrites      how long a caller's reads stay on the primary after a commit; zero disables it
+     * @param healthCheckInterval how often replicas are validated
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration readYourWrites, Duration healthCheckInterval) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.healthy = List.copyOf(this.replicas.keySet());
+        this.recentWriters = readYourWrites.isZero() ? null
+                : Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Validate every replica and route reads to the ones that answered.
+     */
+    public void checkReplicas() {
+        List<String> available = replicas.entrySet().stream()
+                .filter(replica -> isValid(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!available.equals(healthy)) {
+            log.info("Healthy read replicas changed from {} to {}", healthy, available);
+        }
+        healthy = available;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return PRIMARY;
+        }
+        List<String> available = healthy;
+        if (available.isEmpty() || wroteRecently()) {
+            return PRIMARY;
+        }
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+    }
+
+    /**
+     * Stop the health checks and close the replica pools; the primary is left to its owner.
+     */
+    @Override
+    public void close() throws Exception {
+        healthChecks.shutdownNow();
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean wroteRecently() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String caller = caller();
+        return caller != null && recentWriters.getIfPresent(caller) != null;
+    }
+
+    private void rememberWrite() {
+        if (recentWriters == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String caller = caller();
+        if (caller == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(caller, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * The authenticated user's name, {@code null} without one.
+     */
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+
+    private static boolean isValid(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Read replica {} failed its health check: {}", name, ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -74,6 +74,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/cachestats", "/actuator/cachestats/**").hasRole("EMPLOYEE")
 
                         // Book endpoints
                         .requestMatchers(HttpMethod.GET, "/api/v1/books/**").authenticated()
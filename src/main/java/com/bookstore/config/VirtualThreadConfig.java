@@ -0,0 +1,44 @@
+package com.bookstore.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true} (the {@code virtual} profile, Java 21).
+ * Spring Boot already runs Tomcat, {@code @Async} and {@code @Scheduled} work on virtual threads; this bounds
+ * how many of them may hold a database connection at once, see {@link ConnectionLimitingDataSource}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the application's {@code dataSource} bean, whether auto-configured or the replica router.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty("bookstore.datasource.max-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration timeout = Duration.ofMillis(environment.getProperty(
+                "spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                log.info("Limiting virtual threads to {} concurrent database connections", maxConnections);
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, timeout);
+            }
+        };
+    }
+}
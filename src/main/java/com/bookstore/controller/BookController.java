@@ -1,9 +1,24 @@
 // Formatting test
 package com.bookstore.controller;
 
+import com.bookstore.catalog.BookFacet;
+import com.bookstore.catalog.CatalogResponseCache;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.request.BookRangeFilter;
 import com.bookstore.dto.request.BookRequest;
 import com.bookstore.dto.response.ApiResponse;
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookImportResponse;
 import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import com.bookstore.dto.response.BookSummaryResponse;
+import com.bookstore.dto.response.CursorPage;
+import com.bookstore.dto.response.FacetedSearchResponse;
+import com.bookstore.exception.BadRequestException;
+import com.bookstore.model.enums.ImportFormat;
+import com.bookstore.model.enums.SearchEngine;
+import com.bookstore.service.BookExportService;
+import com.bookstore.service.BookImportService;
 import com.bookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,7 +30,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,8 +45,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -38,15 +65,49 @@ import java.util.List;
 public class BookController {
 
         private final BookService bookService;
+        private final BookExportService bookExportService;
+        private final BookImportService bookImportService;
+        private final CatalogResponseCache catalogResponseCache;
 
         @Operation(summary = "Get all books", description = "Retrieve all active books")
         @ApiResponses(value = {
-                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved books", content = @Content(schema = @Schema(implementation = BookResponse.class)))
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved books", content = @Content(schema = @Schema(implementation = BookResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag or date")
         })
-        @GetMapping
-        public ResponseEntity<ApiResponse<List<BookResponse>>> getAllBooks() {
-                List<BookResponse> books = bookService.getAllBooks();
-                return ResponseEntity.ok(ApiResponse.success(books));
+        @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<byte[]> getAllBooks(
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields,
+                        WebRequest webRequest) {
+                BookFields bookFields = BookFields.parse(fields);
+                CatalogSnapshot catalog = bookService.getCatalog();
+                boolean gzip = bookFields.isAll() && BookETags.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+                String eTag = gzip ? BookETags.gzipped(BookETags.forCatalog(catalog)) : BookETags.forCatalog(catalog);
+                if (BookETags.notModified(webRequest, eTag, catalog.getLastModified())) {
+                        return null;
+                }
+
+                ResponseEntity.BodyBuilder response = BookETags.ok(eTag, catalog.getLastModified())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+                if (!bookFields.isAll()) {
+                        return response.body(catalogResponseCache.render(catalog, bookFields));
+                }
+
+                // pre-serialized ApiResponse<List<BookResponse>>, rendered once per catalog version
+                CatalogResponseCache.Rendered rendered = catalogResponseCache.render(catalog);
+                if (gzip) {
+                        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzip());
+                }
+                return response.body(rendered.getJson());
+        }
+
+        @Operation(summary = "Export all books", description = "Stream all active books as newline-delimited JSON, one book per line")
+        @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> exportBooks() {
+                StreamingResponseBody body = bookExportService::exportBooks;
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(body);
         }
 
         @Operation(summary = "Search books with pagination", description = "Search and filter books with pagination")
@@ -56,21 +117,140 @@ public class BookController {
                         @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
                         @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
                         @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
-                        @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDirection) {
-                Page<BookResponse> books = bookService.getBooks(search, page, size, sortBy, sortDirection);
+                        @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDirection,
+                        @Parameter(description = "Search engine (FULL_TEXT orders by relevance)") @RequestParam(defaultValue = "AUTO") SearchEngine engine,
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields,
+                        WebRequest webRequest) {
+                BookFields bookFields = BookFields.parse(fields);
+                CatalogSnapshot catalog = bookService.getCatalog();
+                String eTag = BookETags.forCatalog(catalog);
+                if (BookETags.notModified(webRequest, eTag, catalog.getLastModified())) {
+                        return null;
+                }
+                Page<BookResponse> books = bookService.getBooks(search, engine, bookFields, page, size, sortBy, sortDirection);
+                return BookETags.ok(eTag, catalog.getLastModified(), ApiResponse.success(books));
+        }
+
+        @Operation(summary = "Search book summaries with pagination", description = "Same search as /search, without characteristics and description")
+        @GetMapping("/search/summary")
+        public ResponseEntity<ApiResponse<Page<BookSummaryResponse>>> searchBookSummaries(
+                        @Parameter(description = "Search term") @RequestParam(required = false) String search,
+                        @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
+                        @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDirection,
+                        WebRequest webRequest) {
+                CatalogSnapshot catalog = bookService.getCatalog();
+                String eTag = BookETags.forCatalog(catalog);
+                if (BookETags.notModified(webRequest, eTag, catalog.getLastModified())) {
+                        return null;
+                }
+                Page<BookSummaryResponse> books = bookService.getBookSummaries(search, page, size, sortBy, sortDirection);
+                return BookETags.ok(eTag, catalog.getLastModified(), ApiResponse.success(books));
+        }
+
+        @Operation(summary = "Faceted book search", description = "Filter by age group, language and genre (repeat a parameter to select several values), price and publication date ranges, with match counts per facet value")
+        @GetMapping("/search/facets")
+        public ResponseEntity<ApiResponse<FacetedSearchResponse>> searchBooksByFacets(
+                        @Parameter(description = "Search term") @RequestParam(required = false) String search,
+                        @Parameter(description = "Age groups, e.g. CHILDREN") @RequestParam(required = false) List<String> ageGroup,
+                        @Parameter(description = "Languages, e.g. SPANISH") @RequestParam(required = false) List<String> language,
+                        @Parameter(description = "Genres, case-insensitive") @RequestParam(required = false) List<String> genre,
+                        @Parameter(description = "Lowest price, inclusive") @RequestParam(required = false) BigDecimal minPrice,
+                        @Parameter(description = "Highest price, inclusive") @RequestParam(required = false) BigDecimal maxPrice,
+                        @Parameter(description = "Published on or after, e.g. 1990-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+                        @Parameter(description = "Published on or before, e.g. 1999-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo,
+                        @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
+                        @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDirection,
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields,
+                        WebRequest webRequest) {
+                BookFields.parse(fields); // reject unknown fields up front, BookFieldsAdvice trims the JSON
+                CatalogSnapshot catalog = bookService.getCatalog();
+                String eTag = BookETags.forCatalog(catalog);
+                if (BookETags.notModified(webRequest, eTag, catalog.getLastModified())) {
+                        return null;
+                }
+                Map<BookFacet, List<String>> selection = new EnumMap<>(BookFacet.class);
+                if (ageGroup != null) {
+                        selection.put(BookFacet.AGE_GROUP, ageGroup);
+                }
+                if (language != null) {
+                        selection.put(BookFacet.LANGUAGE, language);
+                }
+                if (genre != null) {
+                        selection.put(BookFacet.GENRE, genre);
+                }
+                BookRangeFilter ranges = new BookRangeFilter(minPrice, maxPrice, publishedFrom, publishedTo);
+                FacetedSearchResponse books = bookService.getFacetedBooks(search, selection, ranges, page, size, sortBy, sortDirection);
+                return BookETags.ok(eTag, catalog.getLastModified(), ApiResponse.success(books));
+        }
+
+        @Operation(summary = "Get several books at once", description = "Repeat name or id (up to 100); books come back in request order and unknown ones are left out")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved books"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of name and id given, or too many")
+        })
+        @GetMapping("/batch")
+        public ResponseEntity<ApiResponse<List<BookResponse>>> getBooksBatch(
+                        @Parameter(description = "Book names") @RequestParam(required = false) List<String> name,
+                        @Parameter(description = "Book IDs") @RequestParam(required = false) List<Long> id,
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields) {
+                BookFields.parse(fields); // reject unknown fields up front, BookFieldsAdvice trims the JSON
+                if ((name == null) == (id == null)) {
+                        throw new BadRequestException("Give either name or id");
+                }
+                List<BookResponse> books = name != null ? bookService.getBooksByNames(name) : bookService.getBooksByIds(id);
+                return ResponseEntity.ok(ApiResponse.success(books));
+        }
+
+        @Operation(summary = "Autocomplete book names and authors", description = "Top completions for a prefix of any word, ignoring case and accents")
+        @GetMapping("/suggest")
+        public ResponseEntity<ApiResponse<List<BookSuggestion>>> suggestBooks(
+                        @Parameter(description = "Typed prefix") @RequestParam String prefix,
+                        @Parameter(description = "Maximum number of suggestions, up to 20") @RequestParam(defaultValue = "10") int limit) {
+                List<BookSuggestion> suggestions = bookService.getSuggestions(prefix, limit);
+                return ResponseEntity.ok(ApiResponse.success(suggestions));
+        }
+
+        @Operation(summary = "Search books with cursor pagination", description = "Keyset pagination: pass the nextCursor of a page to get the following one")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved books"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort field")
+        })
+        @GetMapping("/search/cursor")
+        public ResponseEntity<ApiResponse<CursorPage<BookResponse>>> searchBooksByCursor(
+                        @Parameter(description = "Search term") @RequestParam(required = false) String search,
+                        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Sort by field (name, author, price or id)") @RequestParam(defaultValue = "name") String sortBy,
+                        @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDirection,
+                        @Parameter(description = "Also count all matching books") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields) {
+                CursorPage<BookResponse> books = bookService.getBooksByCursor(search, cursor, size, sortBy, sortDirection,
+                                includeTotal, BookFields.parse(fields));
                 return ResponseEntity.ok(ApiResponse.success(books));
         }
 
         @Operation(summary = "Get book by name", description = "Retrieve a specific book by its name")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved book"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Book unchanged since the given ETag or date"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found")
         })
         @GetMapping("/{name}")
         public ResponseEntity<ApiResponse<BookResponse>> getBookByName(
-                        @Parameter(description = "Book name") @PathVariable String name) {
+                        @Parameter(description = "Book name") @PathVariable String name,
+                        @Parameter(description = "Comma-separated book fields to return, e.g. name,author,price") @RequestParam(required = false) String fields,
+                        WebRequest webRequest) {
+                BookFields.parse(fields); // reject unknown fields up front, BookFieldsAdvice trims the JSON
                 BookResponse book = bookService.getBookByName(name);
-                return ResponseEntity.ok(ApiResponse.success(book));
+                String eTag = BookETags.forBook(book);
+                if (BookETags.notModified(webRequest, eTag, book.getUpdatedAt())) {
+                        return null;
+                }
+                return BookETags.ok(eTag, book.getUpdatedAt(), ApiResponse.success(book));
         }
 
         @Operation(summary = "Create new book", description = "Add a new book to the store (Employee only)")
@@ -87,6 +267,24 @@ public class BookController {
                                 .body(ApiResponse.success("Book created successfully", book));
         }
 
+        @Operation(summary = "Import books", description = "Bulk import books from a CSV file with a header row or a JSON array (Employee only)")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished, rejected rows are listed in errors"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported or unreadable file"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+        })
+        @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @PreAuthorize("hasRole('EMPLOYEE')")
+        public ResponseEntity<ApiResponse<BookImportResponse>> importBooks(
+                        @Parameter(description = "CSV or JSON file") @RequestParam("file") MultipartFile file,
+                        @Parameter(description = "Update books whose name already exists instead of rejecting them") @RequestParam(defaultValue = "false") boolean upsert) throws IOException {
+                ImportFormat format = ImportFormat.of(file.getOriginalFilename(), file.getContentType());
+                try (InputStream in = file.getInputStream()) {
+                        BookImportResponse result = bookImportService.importBooks(in, format, upsert);
+                        return ResponseEntity.ok(ApiResponse.success("Import finished", result));
+                }
+        }
+
         @Operation(summary = "Update book", description = "Update an existing book (Employee only)")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully"),
@@ -0,0 +1,96 @@
+package com.bookstore.controller;
+
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.response.BookResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Validators for conditional GETs on book resources.
+ * A single book is versioned by id and update time; lists and searches by the catalog fingerprint.
+ */
+final class BookETags {
+
+    /**
+     * Clients may store book responses but must revalidate them. Private, since every request is
+     * authenticated and a shared cache would otherwise answer it without checking the token.
+     */
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private BookETags() {
+    }
+
+    static String forBook(BookResponse book) {
+        LocalDateTime updatedAt = book.getUpdatedAt();
+        long micros = updatedAt != null
+                ? updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000
+                : 0;
+        return "\"b" + book.getId() + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    static String forCatalog(CatalogSnapshot catalog) {
+        return "\"c" + Long.toHexString(catalog.getFingerprint()) + "-" + catalog.size() + "\"";
+    }
+
+    /**
+     * Strong validator of the gzip-encoded variant, which must differ from the identity one.
+     */
+    static String gzipped(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Check the request's {@code If-None-Match} / {@code If-Modified-Since} headers. When this returns true
+     * the response is already set up as a 304 and the handler should return {@code null}.
+     */
+    static boolean notModified(WebRequest webRequest, String eTag, LocalDateTime lastModified) {
+        return lastModified != null
+                ? webRequest.checkNotModified(eTag, toEpochMilli(lastModified))
+                : webRequest.checkNotModified(eTag);
+    }
+
+    static <T> ResponseEntity<T> ok(String eTag, LocalDateTime lastModified, T body) {
+        return ok(eTag, lastModified).body(body);
+    }
+
+    static ResponseEntity.BodyBuilder ok(String eTag, LocalDateTime lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL);
+        if (lastModified != null) {
+            builder.lastModified(toEpochMilli(lastModified));
+        }
+        return builder;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip, i.e. lists it without {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookstore.controller;
+
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.exception.BadRequestException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} request parameter to the JSON written by {@link BookController}.
+ * The handlers parse the parameter themselves, so invalid values are rejected before any body is written.
+ */
+@ControllerAdvice(assignableTypes = BookController.class)
+public class BookFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        BookFields fields;
+        try {
+            fields = BookFields.parse(servletRequest.getServletRequest().getParameter(PARAMETER));
+        } catch (BadRequestException ex) {
+            // already rejected by the handler; this is the error response being written
+            return;
+        }
+        if (!fields.isAll()) {
+            bodyContainer.setFilters(fields.filters());
+        }
+    }
+}
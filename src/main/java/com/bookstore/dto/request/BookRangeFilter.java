@@ -0,0 +1,39 @@
+package com.bookstore.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Inclusive price and publication date bounds for a book search; unset bounds are open.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Price and publication date ranges")
+public class BookRangeFilter {
+
+    @Schema(description = "Lowest price", example = "5.00")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Highest price", example = "15.00")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Published on or after", example = "1990-01-01")
+    private LocalDate publishedFrom;
+
+    @Schema(description = "Published on or before", example = "1999-12-31")
+    private LocalDate publishedTo;
+
+    public boolean hasPrice() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasPublished() {
+        return publishedFrom != null || publishedTo != null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bookstore.dto.response;
+
+import com.bookstore.exception.BadRequestException;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset of {@link BookResponse}, from a {@code fields=name,author,price} request parameter.
+ * Trims the JSON through the {@link FilterMixin} filter, and tells the queries whether the large
+ * TEXT columns are needed at all.
+ */
+public final class BookFields {
+
+    public static final String FILTER = "bookFields";
+
+    public static final BookFields ALL = new BookFields(Collections.emptySet());
+
+    private static final Set<String> TEXT = Set.of("characteristics", "description");
+    private static final Set<String> PROPERTIES = Arrays.stream(BookResponse.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Set<String> names;
+
+    private BookFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parse a comma-separated list of property names; blank means all of them.
+     *
+     * @throws BadRequestException for unknown properties
+     */
+    public static BookFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!PROPERTIES.contains(trimmed)) {
+                throw new BadRequestException("Unknown book field '" + trimmed + "'");
+            }
+            names.add(trimmed);
+        }
+        return names.isEmpty() ? ALL : new BookFields(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+
+    /**
+     * Whether {@code characteristics} or {@code description} is requested.
+     */
+    public boolean includesText() {
+        return isAll() || names.stream().anyMatch(TEXT::contains);
+    }
+
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Filters writing only the selected properties of every {@link BookResponse}.
+     */
+    public FilterProvider filters() {
+        SimpleFilterProvider filters = new SimpleFilterProvider().setFailOnUnknownId(false);
+        return isAll() ? filters : filters.addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+
+    /**
+     * Filters for an object mapper that does not trim, so {@link FilterMixin} serializes everything by default.
+     */
+    public static FilterProvider defaultFilters() {
+        return ALL.filters();
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", names);
+    }
+
+    /**
+     * Mix-in attaching the {@link #FILTER} to {@link BookResponse}, so the DTO itself stays free of it.
+     */
+    @JsonFilter(FILTER)
+    public abstract static class FilterMixin {
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookstore.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk book import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk import result")
+public class BookImportResponse {
+
+    @Schema(description = "Data rows read from the file", example = "1000")
+    private Integer totalRows;
+
+    @Schema(description = "Books inserted", example = "990")
+    private Integer inserted;
+
+    @Schema(description = "Existing books updated (upsert only)", example = "5")
+    private Integer updated;
+
+    @Schema(description = "Rows rejected, see errors", example = "5")
+    private Integer failed;
+
+    @Schema(description = "Rejected rows")
+    private List<RowError> errors;
+
+    /**
+     * Why a single row was rejected.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Rejected import row")
+    public static class RowError {
+
+        @Schema(description = "Row number in the file (CSV counts the header as row 1)", example = "12")
+        private Integer row;
+
+        @Schema(description = "Book name, when it could be read", example = "The Great Gatsby")
+        private String name;
+
+        @Schema(description = "Reason", example = "price: Price is required")
+        private String message;
+    }
+}
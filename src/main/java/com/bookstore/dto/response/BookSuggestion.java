@@ -0,0 +1,22 @@
+package com.bookstore.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Autocomplete entry: a book name or author matching the typed prefix.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Autocomplete suggestion")
+public class BookSuggestion {
+
+    @Schema(description = "Suggested text", example = "The Great Gatsby")
+    private String text;
+
+    @Schema(description = "Field the text comes from, name or author", example = "name")
+    private String field;
+}
@@ -0,0 +1,30 @@
+package com.bookstore.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of results for cursor (keyset) pagination.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor paginated results")
+public class CursorPage<T> {
+
+    @Schema(description = "Page content")
+    private List<T> content;
+
+    @Schema(description = "Number of items in this page", example = "10")
+    private Integer size;
+
+    @Schema(description = "Token for the next page, absent on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Total matching items, only when requested", example = "42")
+    private Long totalElements;
+}
@@ -0,0 +1,26 @@
+package com.bookstore.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Page of books matching a faceted search, with value counts per facet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Faceted search results")
+public class FacetedSearchResponse {
+
+    @Schema(description = "Matching books")
+    private Page<BookResponse> books;
+
+    @Schema(description = "Matching books per facet value; each facet ignores its own selection",
+            example = "{\"ageGroup\": {\"CHILDREN\": 4}, \"language\": {\"SPANISH\": 3, \"ENGLISH\": 1}, \"genre\": {\"Fantasy\": 4}}")
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,15 @@
+package com.bookstore.exception;
+
+/**
+ * Exception thrown when a request parameter or uploaded file is invalid, e.g. an unknown sort property.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
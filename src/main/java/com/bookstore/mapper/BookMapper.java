@@ -0,0 +1,56 @@
+package com.bookstore.mapper;
+
+import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSummaryResponse;
+import com.bookstore.model.Book;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import java.util.List;
+
+/**
+ * Compile-time generated mapper between {@link Book} and its DTOs.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BookMapper {
+
+    BookResponse toResponse(Book book);
+
+    List<BookResponse> toResponses(List<Book> books);
+
+    /**
+     * Like {@link #toResponse(Book)} but leaves out the lazily loaded TEXT columns, so they are not fetched.
+     */
+    @Named("withoutText")
+    @Mapping(target = "characteristics", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    BookResponse toResponseWithoutText(Book book);
+
+    BookSummaryResponse toSummary(BookResponse response);
+
+    @Mapping(target = "characteristics", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    BookResponse toResponse(BookSummaryResponse summary);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    Book toEntity(BookRequest bookRequest);
+
+    /**
+     * Copy the request onto an existing book; null fields in the request leave the book unchanged.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    void updateEntity(BookRequest bookRequest, @MappingTarget Book book);
+}
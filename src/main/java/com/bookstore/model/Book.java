@@ -3,29 +3,31 @@ package com.bookstore.model;
 import com.bookstore.model.base.BaseEntity;
 import com.bookstore.model.enums.AgeGroup;
 import com.bookstore.model.enums.Language;
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.Index;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
  * Book entity representing books available in the store.
+ * The TEXT columns are loaded lazily, together, on first access; this relies on bytecode enhancement at build time.
  */
 @Entity
-@Table(name = "books", indexes = {
-        @Index(name = "idx_books_name", columnList = "name"),
-        @Index(name = "idx_books_author", columnList = "author"),
-        @Index(name = "idx_books_genre", columnList = "genre")
-})
+@SQLRestriction(BaseEntity.ACTIVE)
+// indexes are partial, over active rows, and created by the migrations (V5, V6)
+@Table(name = "books")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -52,9 +54,13 @@ public class Book extends BaseEntity {
     @Column(name = "number_of_pages")
     private Integer pages;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(columnDefinition = "TEXT")
     private String characteristics;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(columnDefinition = "TEXT")
     private String description;
 
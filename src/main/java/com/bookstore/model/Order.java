@@ -8,7 +8,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -17,6 +16,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -27,12 +27,9 @@ import java.util.List;
  * Order entity representing customer orders.
  */
 @Entity
-@Table(name = "orders", indexes = {
-        @Index(name = "idx_orders_client", columnList = "client_id"),
-        @Index(name = "idx_orders_employee", columnList = "employee_id"),
-        @Index(name = "idx_orders_status", columnList = "status"),
-        @Index(name = "idx_orders_date", columnList = "order_date")
-})
+@SQLRestriction(BaseEntity.ACTIVE)
+// indexes are partial, over active rows, and created by the migrations (V6)
+@Table(name = "orders")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +24,12 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    /**
+     * Restriction for {@code @SQLRestriction} on entities whose table has a {@code deleted_at} column,
+     * hiding soft-deleted rows from every HQL, criteria and derived query.
+     */
+    public static final String ACTIVE = "deleted_at IS NULL";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
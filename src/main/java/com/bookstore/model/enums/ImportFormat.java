@@ -0,0 +1,30 @@
+package com.bookstore.model.enums;
+
+import com.bookstore.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * File formats accepted by the bulk book import.
+ */
+public enum ImportFormat {
+    /** Comma separated values with a header row of book field names. */
+    CSV,
+    /** JSON array of book objects. */
+    JSON;
+
+    /**
+     * Pick the format from the file extension, falling back to the content type.
+     */
+    public static ImportFormat of(String filename, String contentType) {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".json") || type.startsWith("application/json")) {
+            return JSON;
+        }
+        throw new BadRequestException("Unsupported import file, expected .csv or .json");
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookstore.model.enums;
+
+/**
+ * Search strategies for the book search endpoint.
+ */
+public enum SearchEngine {
+    /** In-memory index when it is warm, database LIKE search otherwise. */
+    AUTO,
+    /** Database LIKE search over name, author and genre. */
+    DATABASE,
+    /** PostgreSQL full-text and trigram search ordered by relevance. */
+    FULL_TEXT
+}
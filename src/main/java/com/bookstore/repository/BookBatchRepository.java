@@ -0,0 +1,81 @@
+package com.bookstore.repository;
+
+import com.bookstore.dto.request.BookRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batch writes for bulk imports, bypassing the persistence context.
+ * The id comes from the {@code books.id} identity column, which the driver can batch
+ * (with {@code reWriteBatchedInserts=true} pgjdbc turns a batch into multi-row inserts).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO books (genre, age_group, price, publication_year, author, "
+            + "number_of_pages, characteristics, description, language, created_at, updated_at, name) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE books SET genre = ?, age_group = ?, price = ?, "
+            + "publication_year = ?, author = ?, number_of_pages = ?, characteristics = ?, description = ?, "
+            + "language = ?, updated_at = ?, deleted_at = NULL WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the books in batches of {@code batchSize}.
+     */
+    public void insertAll(List<BookRequest> books, int batchSize) {
+        if (books.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, books, batchSize, (ps, book) -> {
+            bindColumns(ps, book);
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+            ps.setString(12, book.getName());
+        });
+    }
+
+    /**
+     * Overwrite the books with the same names in batches of {@code batchSize}, restoring soft-deleted ones.
+     */
+    public void updateAllByName(List<BookRequest> books, int batchSize) {
+        if (books.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, books, batchSize, (ps, book) -> {
+            bindColumns(ps, book);
+            ps.setTimestamp(10, now);
+            ps.setString(11, book.getName());
+        });
+    }
+
+    private void bindColumns(PreparedStatement ps, BookRequest book) throws SQLException {
+        ps.setString(1, book.getGenre());
+        ps.setString(2, book.getAgeGroup() != null ? book.getAgeGroup().name() : null);
+        ps.setBigDecimal(3, book.getPrice());
+        ps.setDate(4, book.getPublicationYear() != null ? Date.valueOf(book.getPublicationYear()) : null);
+        ps.setString(5, book.getAuthor());
+        if (book.getPages() != null) {
+            ps.setInt(6, book.getPages());
+        } else {
+            ps.setNull(6, Types.INTEGER);
+        }
+        ps.setString(7, book.getCharacteristics());
+        ps.setString(8, book.getDescription());
+        ps.setString(9, book.getLanguage() != null ? book.getLanguage().name() : null);
+    }
+}
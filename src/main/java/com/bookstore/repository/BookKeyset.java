@@ -0,0 +1,82 @@
+package com.bookstore.repository;
+
+import com.bookstore.exception.BadRequestException;
+import lombok.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset pagination over books.
+ * A token carries the sort and the last row's sort key and id, so the next page is a plain
+ * index range scan ({@code (key, id) > (?, ?)}) no matter how deep the client has scrolled.
+ * Only non-null columns with a matching {@code (column, id)} index can be used as keys.
+ */
+public final class BookKeyset {
+
+    private static final String VERSION = "k1";
+    private static final String SEPARATOR = "|";
+
+    private static final Map<String, Function<String, Object>> PROPERTIES = Map.of(
+            "name", value -> value,
+            "author", value -> value,
+            "price", BigDecimal::new,
+            "id", Long::valueOf);
+
+    private BookKeyset() {
+    }
+
+    public static boolean supports(String property) {
+        return PROPERTIES.containsKey(property);
+    }
+
+    /**
+     * Encode the position after the last row of a page.
+     */
+    public static String encode(Cursor cursor) {
+        Map<String, ?> keys = cursor.getPosition().getKeys();
+        Object value = keys.get(cursor.getProperty());
+        String raw = String.join(SEPARATOR, VERSION, cursor.getProperty(), cursor.getDirection().name(),
+                String.valueOf(keys.get("id")), value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode}.
+     *
+     * @throws BadRequestException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !supports(parts[1])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String property = parts[1];
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(property, PROPERTIES.get(property).apply(parts[4]));
+            keys.put("id", Long.valueOf(parts[3]));
+            return new Cursor(property, Sort.Direction.valueOf(parts[2]), ScrollPosition.forward(keys));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    /**
+     * Sort and position of a keyset page.
+     */
+    @Value
+    public static class Cursor {
+        String property;
+        Sort.Direction direction;
+        KeysetScrollPosition position;
+    }
+}
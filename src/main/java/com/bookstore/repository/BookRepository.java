@@ -1,33 +1,124 @@
 package com.bookstore.repository;
 
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSummaryResponse;
 import com.bookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Book entity.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    /**
+     * The search term as a LIKE pattern matching it as a literal substring: its {@code %}, {@code _} and
+     * {@code \} are escaped, so it matches the same books as the in-memory search index.
+     */
+    String SEARCH_PATTERN = "LOWER(CONCAT('%', :#{escape(#search ?: '')}, '%')) ESCAPE :#{escapeCharacter()}";
+
+    String SEARCH_FILTER = "(:search IS NULL OR :search = '' OR "
+            + "LOWER(b.name) LIKE " + SEARCH_PATTERN + " OR "
+            + "LOWER(b.author) LIKE " + SEARCH_PATTERN + " OR "
+            + "LOWER(b.genre) LIKE " + SEARCH_PATTERN + ")";
+
+    String RESPONSE_PROJECTION = "SELECT new com.bookstore.dto.response.BookResponse("
+            + "b.id, b.name, b.genre, b.ageGroup, b.price, b.publicationYear, b.author, b.pages, "
+            + "b.characteristics, b.description, b.language, b.createdAt, b.updatedAt) FROM Book b";
+
+    String SUMMARY_PROJECTION = "SELECT new com.bookstore.dto.response.BookSummaryResponse("
+            + "b.id, b.name, b.genre, b.ageGroup, b.price, b.publicationYear, b.author, b.pages, "
+            + "b.language, b.createdAt, b.updatedAt) FROM Book b";
 
     Optional<Book> findByName(String name);
 
-    Boolean existsByName(String name);
+    /**
+     * Whether the name is taken, soft-deleted books included: the unique constraint spans all rows,
+     * so this is native SQL that the soft-delete restriction does not apply to.
+     */
+    @Query(value = "SELECT count(*) > 0 FROM books WHERE name = :name", nativeQuery = true)
+    Boolean existsByName(@Param("name") String name);
+
+    /**
+     * Names among the given ones that are already taken, soft-deleted books included (native, as above).
+     */
+    @Query(value = "SELECT name FROM books WHERE name IN (:names)", nativeQuery = true)
+    List<String> findExistingNames(@Param("names") Collection<String> names);
 
-    @Query("SELECT b FROM Book b WHERE b.deletedAt IS NULL")
+    @Query("SELECT b FROM Book b")
     List<Book> findAllActive();
 
-    @Query("SELECT b FROM Book b WHERE b.deletedAt IS NULL AND "
-            + "(:search IS NULL OR :search = '' OR "
-            + "LOWER(b.name) LIKE LOWER(CONCAT('%', :search, '%')) OR "
-            + "LOWER(b.author) LIKE LOWER(CONCAT('%', :search, '%')) OR "
-            + "LOWER(b.genre) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Book> findBooksWithSearch(@Param("search") String search, Pageable pageable);
+    /**
+     * Cursor over all active books in id order, fetched from the driver in batches. Selects DTOs, so nothing
+     * piles up in the persistence context and the lazy TEXT columns come in the same row.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION + " ORDER BY b.id")
+    Stream<BookResponse> streamAllActiveResponses();
+
+    /**
+     * Read-only lookups below select straight into DTOs: no managed entities, no dirty checking.
+     * The cache loaders among them run outside service transactions, hence their own read-only one.
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + " WHERE b.name = :name")
+    Optional<BookResponse> findResponseByName(@Param("name") String name);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION)
+    List<BookResponse> findAllActiveResponses();
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + " WHERE b.name IN :names")
+    List<BookResponse> findActiveResponsesByNameIn(@Param("names") Collection<String> names);
+
+    @Query(RESPONSE_PROJECTION + " WHERE b.id IN :ids")
+    List<BookResponse> findActiveResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = RESPONSE_PROJECTION + " WHERE " + SEARCH_FILTER,
+            countQuery = "SELECT count(b) FROM Book b WHERE " + SEARCH_FILTER)
+    Page<BookResponse> findResponsesWithSearch(@Param("search") String search, Pageable pageable);
+
+    /**
+     * Same search as {@link #findResponsesWithSearch}, leaving the TEXT columns out of the select list.
+     */
+    @Query(value = SUMMARY_PROJECTION + " WHERE " + SEARCH_FILTER,
+            countQuery = "SELECT count(b) FROM Book b WHERE " + SEARCH_FILTER)
+    Page<BookSummaryResponse> findSummariesWithSearch(@Param("search") String search, Pageable pageable);
+
+    /**
+     * Ranked search backed by the GIN indexes from V4 (PostgreSQL only).
+     * Native SQL, so it filters out soft-deleted books itself.
+     * Word matches are ranked with ts_rank, plain substring matches by trigram similarity of the name.
+     */
+    @Query(value = "SELECT b.* FROM books b WHERE b.deleted_at IS NULL AND "
+            + "(b.search_vector @@ plainto_tsquery('simple', :search) OR "
+            + "lower(b.name) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(b.author) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(b.genre) LIKE '%' || lower(:search) || '%') "
+            + "ORDER BY ts_rank(b.search_vector, plainto_tsquery('simple', :search)) DESC, "
+            + "similarity(lower(b.name), lower(:search)) DESC, b.id",
+            countQuery = "SELECT count(*) FROM books b WHERE b.deleted_at IS NULL AND "
+            + "(b.search_vector @@ plainto_tsquery('simple', :search) OR "
+            + "lower(b.name) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(b.author) LIKE '%' || lower(:search) || '%' OR "
+            + "lower(b.genre) LIKE '%' || lower(:search) || '%')",
+            nativeQuery = true)
+    Page<Book> searchFullText(@Param("search") String search, Pageable pageable);
 }
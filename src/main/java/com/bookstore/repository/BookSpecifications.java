@@ -0,0 +1,34 @@
+package com.bookstore.repository;
+
+import com.bookstore.model.Book;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * Reusable criteria for {@link Book} queries.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Same match as {@link BookRepository#findResponsesWithSearch}: name, author or genre contain the term literally.
+     */
+    public static Specification<Book> matchesSearch(String search) {
+        return (root, query, cb) -> {
+            if (!StringUtils.hasText(search)) {
+                return cb.conjunction();
+            }
+            String pattern = "%" + EscapeCharacter.DEFAULT.escape(search.toLowerCase(Locale.ROOT)) + "%";
+            char escape = EscapeCharacter.DEFAULT.getEscapeCharacter();
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, escape),
+                    cb.like(cb.lower(root.get("author")), pattern, escape),
+                    cb.like(cb.lower(root.get("genre")), pattern, escape));
+        };
+    }
+}
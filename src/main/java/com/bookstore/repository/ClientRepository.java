@@ -17,6 +17,6 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     Boolean existsByEmail(String email);
 
-    @Query("SELECT c FROM Client c WHERE c.deletedAt IS NULL")
+    @Query("SELECT c FROM Client c")
     java.util.List<Client> findAllActive();
 }
@@ -17,6 +17,6 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Boolean existsByEmail(String email);
 
-    @Query("SELECT e FROM Employee e WHERE e.deletedAt IS NULL")
+    @Query("SELECT e FROM Employee e")
     java.util.List<Employee> findAllActive();
 }
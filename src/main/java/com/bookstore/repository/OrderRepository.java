@@ -15,15 +15,15 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    @Query("SELECT o FROM Order o WHERE o.client.email = :email AND o.deletedAt IS NULL")
+    @Query("SELECT o FROM Order o WHERE o.client.email = :email")
     List<Order> findByClientEmail(@Param("email") String email);
 
-    @Query("SELECT o FROM Order o WHERE o.employee.email = :email AND o.deletedAt IS NULL")
+    @Query("SELECT o FROM Order o WHERE o.employee.email = :email")
     List<Order> findByEmployeeEmail(@Param("email") String email);
 
-    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.deletedAt IS NULL")
+    @Query("SELECT o FROM Order o WHERE o.status = :status")
     List<Order> findByStatus(@Param("status") OrderStatus status);
 
-    @Query("SELECT o FROM Order o WHERE o.deletedAt IS NULL")
+    @Query("SELECT o FROM Order o")
     List<Order> findAllActive();
 }
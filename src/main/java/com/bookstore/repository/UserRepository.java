@@ -2,6 +2,8 @@ package com.bookstore.repository;
 
 import com.bookstore.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,5 +16,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    Boolean existsByEmail(String email);
+    /**
+     * Whether the email is taken, soft-deleted users included: the unique constraint spans all rows,
+     * so this is native SQL that the soft-delete restriction does not apply to.
+     */
+    @Query(value = "SELECT count(*) > 0 FROM users WHERE email = :email", nativeQuery = true)
+    Boolean existsByEmail(@Param("email") String email);
 }
@@ -0,0 +1,170 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the book changes other nodes announce through {@link BookChangeNotifier}: evicts the named books
+ * from the cache and re-reads the changed ones into the catalog, leaving everything else cached.
+ * Listens on its own connection, outside the pool. Notifications sent while it is disconnected are lost, so
+ * after reconnecting it drops the whole cache and catalog instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bookstore.cache.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BookChangeListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final BookChangeNotifier bookChangeNotifier;
+    private final BookRepository bookRepository;
+    private final BookCatalog bookCatalog;
+    private final BookCache bookCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "book-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Apply one notification payload, unless this node sent it.
+     */
+    void handle(String payload) {
+        BookChangeNotifier.Message message;
+        try {
+            message = objectMapper.readValue(payload, BookChangeNotifier.Message.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed book change notification: {}", payload);
+            return;
+        }
+        if (bookChangeNotifier.getNode().equals(message.getNode())) {
+            return;
+        }
+        log.debug("Books changed on node {} at catalog version {}: ids {}, names {}", message.getNode(),
+                message.getVersion(), message.getIds(), message.getNames());
+        if (message.isAll()) {
+            resync();
+            return;
+        }
+        bookCache.evict(message.getNames().toArray(String[]::new));
+        if (message.getIds().isEmpty() || bookCatalog.current().isEmpty()) {
+            return;
+        }
+        try {
+            // not read-only, so read from the primary: a replica may not have the change yet
+            Map<Long, BookResponse> books = bookRepository.findActiveResponsesByIdIn(message.getIds()).stream()
+                    .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+            for (Long id : message.getIds()) {
+                BookResponse book = books.get(id);
+                if (book != null) {
+                    bookCatalog.put(book);
+                } else {
+                    bookCatalog.remove(id);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not re-read changed books {}, dropping the catalog: {}", message.getIds(),
+                    ex.getMessage());
+            bookCatalog.invalidate();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BookChangeNotifier.CHANNEL);
+                }
+                if (reconnecting) {
+                    resync();
+                }
+                reconnecting = true;
+                log.info("Listening for book changes from other nodes");
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Lost book change notifications, reconnecting in {}: {}", RECONNECT_DELAY, ex.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every cached book and the catalog; the next readers load them again.
+     */
+    private void resync() {
+        log.info("Resynchronizing book cache and catalog");
+        bookCache.evictAll();
+        bookCatalog.invalidate();
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Tells the other nodes which books changed, through Postgres {@code NOTIFY} on {@link #CHANNEL}.
+ * Notifications are sent on the current transaction's connection, so Postgres delivers them when it commits
+ * and drops them when it rolls back. Does nothing unless {@code bookstore.cache.cluster.enabled} is set;
+ * {@link BookChangeListener} receives them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookChangeNotifier {
+
+    static final String CHANNEL = "bookstore_books";
+    // Postgres rejects payloads of 8000 bytes or more; bigger changes are sent as a change to every book
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BookCatalog bookCatalog;
+    private final String node = UUID.randomUUID().toString();
+
+    @Value("${bookstore.cache.cluster.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Announce changes to the given books, by id for the catalog and by name, old and new, for the cache.
+     */
+    public void booksChanged(Collection<Long> ids, Collection<String> names) {
+        send(new Message(node, catalogVersion(), false, List.copyOf(ids),
+                names.stream().filter(Objects::nonNull).distinct().toList()));
+    }
+
+    /**
+     * Announce a change to any number of books, e.g. an import; receivers drop everything they cached.
+     */
+    public void allBooksChanged() {
+        send(new Message(node, catalogVersion(), true, List.of(), List.of()));
+    }
+
+    /**
+     * Random id of this node, so that it can skip its own notifications.
+     */
+    public String getNode() {
+        return node;
+    }
+
+    private void send(Message message) {
+        if (!enabled) {
+            return;
+        }
+        String payload = write(message);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = write(new Message(node, message.getVersion(), true, List.of(), List.of()));
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        log.debug("Notified other nodes of book changes: {}", payload);
+    }
+
+    private long catalogVersion() {
+        return bookCatalog.current().map(CatalogSnapshot::getVersion).orElse(0L);
+    }
+
+    private String write(Message message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException("Could not serialize book change", ex);
+        }
+    }
+
+    /**
+     * Notification payload. {@code version} is the sender's catalog version when the change was made, for
+     * tracing; versions are per node and not comparable across nodes.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Message {
+        private String node;
+        private long version;
+        private boolean all;
+        private List<Long> ids;
+        private List<String> names;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for streaming the catalog out as newline-delimited JSON.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every active book to the stream, one JSON object per line. Books are read as DTOs, not entities,
+     * so memory use does not grow with the size of the catalog.
+     *
+     * @return number of books written
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream out) throws IOException {
+        log.debug("Exporting book catalog");
+        ObjectWriter writer = objectMapper.writerFor(BookResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        long count = 0;
+
+        try (Stream<BookResponse> books = bookRepository.streamAllActiveResponses();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<BookResponse> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        log.info("Exported {} books", count);
+        return count;
+    }
+}
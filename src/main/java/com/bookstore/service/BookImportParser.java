@@ -0,0 +1,175 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.request.BookRequest;
+import com.bookstore.exception.BadRequestException;
+import com.bookstore.model.enums.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Turns bulk import files into validated {@link BookRequest}s, one {@link ParsedRow} per data row.
+ * Rows are converted and validated in parallel; the result keeps file order.
+ * CSV values may be quoted but must not span lines.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookImportParser {
+
+    private static final Set<String> CSV_COLUMNS = Set.of("name", "genre", "ageGroup", "price", "publicationYear",
+            "author", "pages", "characteristics", "description", "language");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public List<ParsedRow> parse(InputStream in, ImportFormat format) throws IOException {
+        return format == ImportFormat.CSV ? parseCsv(in) : parseJson(in);
+    }
+
+    private List<ParsedRow> parseCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+        List<String> columns = splitCsvLine(header.replace("\uFEFF", ""));
+        for (String column : columns) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new BadRequestException("Unknown CSV column '" + column + "'");
+            }
+        }
+
+        List<String> lines = reader.lines().toList();
+        return IntStream.range(0, lines.size())
+                .parallel()
+                .filter(i -> !lines.get(i).isBlank())
+                .mapToObj(i -> parseCsvRow(i + 2, columns, lines.get(i)))
+                .toList();
+    }
+
+    private ParsedRow parseCsvRow(int row, List<String> columns, String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != columns.size()) {
+            return ParsedRow.failed(row, null,
+                    "Expected " + columns.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            fields.put(columns.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        try {
+            return validate(row, objectMapper.convertValue(fields, BookRequest.class));
+        } catch (IllegalArgumentException ex) {
+            return ParsedRow.failed(row, fields.get("name"), describe(ex.getCause()));
+        }
+    }
+
+    private List<ParsedRow> parseJson(InputStream in) throws IOException {
+        JsonNode root = objectMapper.readTree(in);
+        if (root == null || !root.isArray()) {
+            throw new BadRequestException("JSON import must be an array of books");
+        }
+        return IntStream.range(0, root.size())
+                .parallel()
+                .mapToObj(i -> parseJsonRow(i + 1, root.get(i)))
+                .toList();
+    }
+
+    private ParsedRow parseJsonRow(int row, JsonNode node) {
+        try {
+            return validate(row, objectMapper.treeToValue(node, BookRequest.class));
+        } catch (JsonProcessingException ex) {
+            return ParsedRow.failed(row, node.path("name").asText(null), describe(ex));
+        }
+    }
+
+    private ParsedRow validate(int row, BookRequest book) {
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return ParsedRow.valid(row, book);
+        }
+        String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+        return ParsedRow.failed(row, book.getName(), message);
+    }
+
+    private static String describe(Throwable ex) {
+        if (ex instanceof MismatchedInputException mismatch && !mismatch.getPath().isEmpty()) {
+            return mismatch.getPath().get(mismatch.getPath().size() - 1).getFieldName() + ": invalid value";
+        }
+        return "Unreadable row";
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+
+    /**
+     * One data row: either a valid book or the reason it was rejected.
+     */
+    @Value
+    public static class ParsedRow {
+        int row;
+        BookRequest book;
+        String name;
+        String error;
+
+        static ParsedRow valid(int row, BookRequest book) {
+            return new ParsedRow(row, book, book.getName(), null);
+        }
+
+        static ParsedRow failed(int row, String name, String error) {
+            return new ParsedRow(row, null, name, error);
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+}
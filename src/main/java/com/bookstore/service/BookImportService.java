@@ -0,0 +1,104 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookImportResponse;
+import com.bookstore.exception.ResourceAlreadyExistsException;
+import com.bookstore.model.enums.ImportFormat;
+import com.bookstore.repository.BookBatchRepository;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.service.BookImportParser.ParsedRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for bulk loading books, e.g. from publisher feeds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportService {
+
+    private static final int NAME_LOOKUP_CHUNK = 1000;
+
+    private final BookImportParser bookImportParser;
+    private final BookRepository bookRepository;
+    private final BookBatchRepository bookBatchRepository;
+    private final BookCatalog bookCatalog;
+    private final BookCache bookCache;
+    private final BookChangeNotifier bookChangeNotifier;
+
+    @Value("${bookstore.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Import every valid row of the file in one transaction. Invalid rows, names repeated in the file and,
+     * unless {@code upsert} is set, names that already exist are reported instead of imported.
+     */
+    @Transactional
+    public BookImportResponse importBooks(InputStream in, ImportFormat format, boolean upsert) throws IOException {
+        List<ParsedRow> rows = bookImportParser.parse(in, format);
+        log.debug("Importing {} {} rows, upsert: {}", rows.size(), format, upsert);
+
+        List<BookImportResponse.RowError> errors = new ArrayList<>();
+        Map<String, ParsedRow> accepted = new LinkedHashMap<>();
+        for (ParsedRow row : rows) {
+            if (!row.isValid()) {
+                errors.add(new BookImportResponse.RowError(row.getRow(), row.getName(), row.getError()));
+            } else if (accepted.putIfAbsent(row.getName(), row) != null) {
+                errors.add(new BookImportResponse.RowError(row.getRow(), row.getName(),
+                        "Duplicate name in file, first seen in row " + accepted.get(row.getName()).getRow()));
+            }
+        }
+
+        Set<String> existing = findExistingNames(new ArrayList<>(accepted.keySet()));
+        List<BookRequest> inserts = new ArrayList<>();
+        List<BookRequest> updates = new ArrayList<>();
+        for (ParsedRow row : accepted.values()) {
+            if (!existing.contains(row.getName())) {
+                inserts.add(row.getBook());
+            } else if (upsert) {
+                updates.add(row.getBook());
+            } else {
+                errors.add(new BookImportResponse.RowError(row.getRow(), row.getName(),
+                        new ResourceAlreadyExistsException("Book", "name", row.getName()).getMessage()));
+            }
+        }
+
+        bookBatchRepository.insertAll(inserts, batchSize);
+        bookBatchRepository.updateAllByName(updates, batchSize);
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            bookCatalog.invalidate();
+            bookCache.evictAll();
+            bookChangeNotifier.allBooksChanged();
+        }
+
+        errors.sort(Comparator.comparing(BookImportResponse.RowError::getRow));
+        log.info("Book import finished: {} inserted, {} updated, {} rejected",
+                inserts.size(), updates.size(), errors.size());
+        return new BookImportResponse(rows.size(), inserts.size(), updates.size(), errors.size(), errors);
+    }
+
+    private Set<String> findExistingNames(List<String> names) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < names.size(); from += NAME_LOOKUP_CHUNK) {
+            List<String> chunk = names.subList(from, Math.min(from + NAME_LOOKUP_CHUNK, names.size()));
+            existing.addAll(bookRepository.findExistingNames(chunk));
+        }
+        return existing;
+    }
+}
@@ -1,66 +1,344 @@
 package com.bookstore.service;
 
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.catalog.BookComparators;
+import com.bookstore.catalog.BookFacet;
+import com.bookstore.catalog.BookFacetIndex;
+import com.bookstore.catalog.BookRangeIndex;
+import com.bookstore.catalog.BookSearchIndex;
+import com.bookstore.catalog.BookSuggestIndex;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.request.BookRangeFilter;
 import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookFields;
 import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import com.bookstore.dto.response.BookSummaryResponse;
+import com.bookstore.dto.response.CursorPage;
+import com.bookstore.dto.response.FacetedSearchResponse;
+import com.bookstore.exception.BadRequestException;
 import com.bookstore.exception.ResourceAlreadyExistsException;
 import com.bookstore.exception.ResourceNotFoundException;
+import com.bookstore.mapper.BookMapper;
 import com.bookstore.model.Book;
+import com.bookstore.model.enums.SearchEngine;
+import com.bookstore.repository.BookKeyset;
 import com.bookstore.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.bookstore.repository.BookSpecifications.matchesSearch;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final BookRepository bookRepository;
-    private final ModelMapper modelMapper;
+    private final BookMapper bookMapper;
+    private final BookCatalog bookCatalog;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookRangeIndex bookRangeIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookChangeNotifier bookChangeNotifier;
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "books", key = "'all'")
+    @Value("${bookstore.search.full-text-enabled:false}")
+    private boolean fullTextSearchEnabled;
+
+    /**
+     * Load the catalog snapshot at startup so the first readers don't pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpCatalog() {
+        try {
+            getAllBooks();
+        } catch (RuntimeException ex) {
+            log.warn("Could not warm up book catalog: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Not transactional, like {@link #getCatalog()}.
+     */
     public List<BookResponse> getAllBooks() {
         log.debug("Fetching all books");
-        return bookRepository.findAllActive()
-                .stream()
-                .map(book -> modelMapper.map(book, BookResponse.class))
-                .collect(Collectors.toList());
+        return getCatalog().getBooks();
+    }
+
+    /**
+     * Current catalog snapshot, loaded on first use. Not transactional: a cached catalog is served without a
+     * connection, so it keeps answering while the database is unreachable; the load runs in its own read-only
+     * transaction.
+     */
+    public CatalogSnapshot getCatalog() {
+        return bookCatalog.snapshot(this::loadCatalog);
     }
 
     @Transactional(readOnly = true)
     public Page<BookResponse> getBooks(String search, int page, int size, String sortBy, String sortDirection) {
-        log.debug("Fetching books with search: '{}', page: {}, size: {}", search, page, size);
+        return getBooks(search, SearchEngine.AUTO, page, size, sortBy, sortDirection);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookResponse> getBooks(String search, SearchEngine engine, int page, int size,
+            String sortBy, String sortDirection) {
+        return getBooks(search, engine, BookFields.ALL, page, size, sortBy, sortDirection);
+    }
+
+    /**
+     * Search books with the given engine. {@link SearchEngine#FULL_TEXT} orders by relevance and ignores the sort.
+     * Database queries only select the TEXT columns when the fields include them.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookResponse> getBooks(String search, SearchEngine engine, BookFields fields, int page, int size,
+            String sortBy, String sortDirection) {
+        log.debug("Fetching books with search: '{}', engine: {}, page: {}, size: {}", search, engine, page, size);
+
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String sortProperty = sortBy != null ? sortBy : "name";
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortProperty));
+
+        if (engine == SearchEngine.FULL_TEXT && StringUtils.hasText(search)) {
+            if (fullTextSearchEnabled) {
+                Page<Book> books = bookRepository.searchFullText(search.trim(), PageRequest.of(page, size));
+                return new PageImpl<>(toResponses(books.getContent(), fields), books.getPageable(),
+                        books.getTotalElements());
+            }
+            log.debug("Full-text search disabled, falling back to database search");
+        } else if (engine != SearchEngine.DATABASE) {
+            Optional<CatalogSnapshot> snapshot = bookCatalog.current();
+            Optional<Comparator<BookResponse>> comparator = BookComparators.forProperty(sortProperty, direction);
+            if (snapshot.isPresent() && comparator.isPresent() && bookSearchIndex.isReady()) {
+                return searchCatalog(snapshot.get(), bookSearchIndex.search(search), comparator.get(), pageable);
+            }
+            log.debug("Search index not ready, falling back to database search");
+        }
+
+        if (!fields.includesText()) {
+            return bookRepository.findSummariesWithSearch(search, pageable).map(bookMapper::toResponse);
+        }
+        return bookRepository.findResponsesWithSearch(search, pageable);
+    }
+
+    /**
+     * Same search as {@link #getBooks}, returning books without their characteristics and description.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookSummaryResponse> getBookSummaries(String search, int page, int size,
+            String sortBy, String sortDirection) {
+        log.debug("Fetching book summaries with search: '{}', page: {}, size: {}", search, page, size);
+
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String sortProperty = sortBy != null ? sortBy : "name";
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortProperty));
+
+        Optional<CatalogSnapshot> snapshot = bookCatalog.current();
+        Optional<Comparator<BookResponse>> comparator = BookComparators.forProperty(sortProperty, direction);
+        if (snapshot.isPresent() && comparator.isPresent() && bookSearchIndex.isReady()) {
+            return searchCatalog(snapshot.get(), bookSearchIndex.search(search), comparator.get(), pageable)
+                    .map(bookMapper::toSummary);
+        }
+
+        return bookRepository.findSummariesWithSearch(search, pageable);
+    }
+
+    /**
+     * Search the catalog, keep the books within the price and publication date ranges that have one of the
+     * selected values of every filtered facet, and count the matches per value of each facet.
+     * Served from the in-memory indexes only.
+     */
+    public FacetedSearchResponse getFacetedBooks(String search, Map<BookFacet, List<String>> selection,
+            BookRangeFilter ranges, int page, int size, String sortBy, String sortDirection) {
+        log.debug("Fetching books with search: '{}', facets: {}, ranges: {}, page: {}, size: {}",
+                search, selection, ranges, page, size);
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy != null ? sortBy : "name"));
+        String sortProperty = sortBy != null ? sortBy : "name";
+        Comparator<BookResponse> comparator = BookComparators.forProperty(sortProperty, direction)
+                .orElseThrow(() -> new BadRequestException("Cannot sort by '" + sortProperty + "'"));
+
+        CatalogSnapshot catalog = getCatalog();
+        BookSearchIndex searchIndex = bookSearchIndex.isReady() ? bookSearchIndex : BookSearchIndex.of(catalog);
+        BookFacetIndex facetIndex = bookFacetIndex.isReady() ? bookFacetIndex : BookFacetIndex.of(catalog);
+        BitSet candidates = searchIndex.search(search);
+        if (ranges != null && (ranges.hasPrice() || ranges.hasPublished())) {
+            BookRangeIndex rangeIndex = bookRangeIndex.isReady() ? bookRangeIndex : BookRangeIndex.of(catalog);
+            if (ranges.hasPrice()) {
+                candidates.and(rangeIndex.range(BookRangeIndex.Attribute.PRICE_CENTS,
+                        ranges.getMinPrice() != null ? BookRangeIndex.cents(ranges.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE,
+                        ranges.getMaxPrice() != null ? BookRangeIndex.cents(ranges.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE));
+            }
+            if (ranges.hasPublished()) {
+                candidates.and(rangeIndex.range(BookRangeIndex.Attribute.PUBLICATION_EPOCH_DAY,
+                        ranges.getPublishedFrom() != null ? ranges.getPublishedFrom().toEpochDay() : Long.MIN_VALUE,
+                        ranges.getPublishedTo() != null ? ranges.getPublishedTo().toEpochDay() : Long.MAX_VALUE));
+            }
+        }
+        BookFacetIndex.Result result = facetIndex.search(candidates, selection);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.getCounts().forEach((facet, counts) -> facets.put(facet.getProperty(), counts));
+        Page<BookResponse> books = searchCatalog(catalog, result.getMatches(), comparator,
+                PageRequest.of(page, size, Sort.by(direction, sortProperty)));
+        return new FacetedSearchResponse(books, facets);
+    }
+
+    /**
+     * Autocomplete over book names and authors, served from the in-memory trie.
+     */
+    public List<BookSuggestion> getSuggestions(String prefix, int limit) {
+        log.debug("Fetching suggestions for prefix: '{}', limit: {}", prefix, limit);
 
-        Page<Book> bookPage = bookRepository.findBooksWithSearch(search, pageable);
-        return bookPage.map(book -> modelMapper.map(book, BookResponse.class));
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        BookSuggestIndex suggestIndex = bookSuggestIndex;
+        if (!suggestIndex.isReady()) {
+            CatalogSnapshot catalog = getCatalog();
+            suggestIndex = bookSuggestIndex.isReady() ? bookSuggestIndex : BookSuggestIndex.of(catalog);
+        }
+        return suggestIndex.suggest(prefix, limit);
     }
 
+    /**
+     * Keyset paginated search. Without a cursor the first page is returned; with one, the page after it,
+     * using the sort stored in the cursor. The total is only counted when asked for.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "books", key = "#name")
+    public CursorPage<BookResponse> getBooksByCursor(String search, String cursor, int size, String sortBy,
+            String sortDirection, boolean includeTotal) {
+        return getBooksByCursor(search, cursor, size, sortBy, sortDirection, includeTotal, BookFields.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookResponse> getBooksByCursor(String search, String cursor, int size, String sortBy,
+            String sortDirection, boolean includeTotal, BookFields fields) {
+        log.debug("Fetching books with search: '{}', cursor: {}, size: {}", search, cursor, size);
+
+        BookKeyset.Cursor position;
+        if (StringUtils.hasText(cursor)) {
+            position = BookKeyset.decode(cursor);
+        } else {
+            String sortProperty = sortBy != null ? sortBy : "name";
+            if (!BookKeyset.supports(sortProperty)) {
+                throw new BadRequestException("Cursor pagination cannot sort by '" + sortProperty + "'");
+            }
+            Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            position = new BookKeyset.Cursor(sortProperty, direction, ScrollPosition.keyset());
+        }
+
+        Specification<Book> spec = Specification.where(matchesSearch(search));
+        Sort sort = Sort.by(position.getDirection(), position.getProperty());
+        Window<Book> window = bookRepository.findBy(spec,
+                query -> query.sortBy(sort).limit(size).scroll(position.getPosition()));
+
+        List<BookResponse> content = toResponses(window.getContent(), fields);
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? BookKeyset.encode(new BookKeyset.Cursor(position.getProperty(), position.getDirection(),
+                        (KeysetScrollPosition) window.positionAt(window.size() - 1)))
+                : null;
+        Long total = includeTotal ? bookRepository.count(spec) : null;
+        return new CursorPage<>(content, content.size(), nextCursor, total);
+    }
+
+    /**
+     * Not transactional, like {@link #getCatalog()}.
+     */
     public BookResponse getBookByName(String name) {
         log.debug("Fetching book by name: {}", name);
-        Book book = bookRepository.findByName(name)
-                .orElseThrow(() -> new ResourceNotFoundException("Book", "name", name));
-        return modelMapper.map(book, BookResponse.class);
+        return bookCatalog.current()
+                .flatMap(catalog -> catalog.findByName(name))
+                .orElseGet(() -> bookCache.get(name, () -> bookRepository.findResponseByName(name)
+                        .orElseThrow(() -> new ResourceNotFoundException("Book", "name", name))));
+    }
+
+    /**
+     * Books by name in request order, duplicates and unknown names left out. Served from the catalog when
+     * loaded; otherwise from the cache, with every miss loaded by a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<BookResponse> getBooksByNames(Collection<String> names) {
+        log.debug("Fetching {} books by name", names.size());
+        List<String> requested = distinct(names);
+
+        Optional<CatalogSnapshot> catalog = bookCatalog.current();
+        if (catalog.isPresent()) {
+            return requested.stream()
+                    .map(name -> catalog.get().findByName(name))
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+
+        Map<String, BookResponse> found = bookCache.getAll(requested, missing ->
+                bookRepository.findActiveResponsesByNameIn(missing).stream()
+                        .collect(Collectors.toMap(BookResponse::getName, book -> book)));
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Books by id in request order, duplicates and unknown ids left out. Served from the catalog when
+     * loaded; otherwise with a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<BookResponse> getBooksByIds(Collection<Long> ids) {
+        log.debug("Fetching {} books by id", ids.size());
+        List<Long> requested = distinct(ids);
+
+        Optional<CatalogSnapshot> catalog = bookCatalog.current();
+        if (catalog.isPresent()) {
+            return requested.stream()
+                    .map(id -> catalog.get().findById(id))
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+
+        Map<Long, BookResponse> found = bookRepository.findActiveResponsesByIdIn(requested).stream()
+                .collect(Collectors.toMap(BookResponse::getId, book -> book));
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional
-    @CacheEvict(value = "books", allEntries = true)
     public BookResponse createBook(BookRequest bookRequest) {
         log.debug("Creating new book: {}", bookRequest.getName());
 
@@ -68,15 +346,19 @@ public class BookService {
             throw new ResourceAlreadyExistsException("Book", "name", bookRequest.getName());
         }
 
-        Book book = modelMapper.map(bookRequest, Book.class);
+        Book book = bookMapper.toEntity(bookRequest);
         book = bookRepository.save(book);
 
+        BookResponse response = bookMapper.toResponse(book);
+        bookCatalog.put(response);
+        bookCache.evict(book.getName());
+        bookChangeNotifier.booksChanged(List.of(book.getId()), List.of(book.getName()));
+
         log.info("Book created successfully: {}", book.getName());
-        return modelMapper.map(book, BookResponse.class);
+        return response;
     }
 
     @Transactional
-    @CacheEvict(value = "books", allEntries = true)
     public BookResponse updateBook(String name, BookRequest bookRequest) {
         log.debug("Updating book: {}", name);
 
@@ -87,15 +369,21 @@ public class BookService {
             throw new ResourceAlreadyExistsException("Book", "name", bookRequest.getName());
         }
 
-        modelMapper.map(bookRequest, book);
-        book = bookRepository.save(book);
+        String previousName = book.getName();
+        bookMapper.updateEntity(bookRequest, book);
+        // flush so that @LastModifiedDate sets updatedAt before the response and the catalog patch copy it
+        book = bookRepository.saveAndFlush(book);
+
+        BookResponse response = bookMapper.toResponse(book);
+        bookCatalog.put(response);
+        bookCache.evict(previousName, book.getName());
+        bookChangeNotifier.booksChanged(List.of(book.getId()), List.of(previousName, book.getName()));
 
         log.info("Book updated successfully: {}", book.getName());
-        return modelMapper.map(book, BookResponse.class);
+        return response;
     }
 
     @Transactional
-    @CacheEvict(value = "books", allEntries = true)
     public void deleteBook(String name) {
         log.debug("Deleting book: {}", name);
 
@@ -104,7 +392,58 @@ public class BookService {
 
         book.softDelete();
         bookRepository.save(book);
+        bookCatalog.remove(book.getId());
+        bookCache.evict(book.getName());
+        bookChangeNotifier.booksChanged(List.of(book.getId()), List.of(book.getName()));
 
         log.info("Book soft deleted successfully: {}", name);
     }
+
+    private List<BookResponse> loadCatalog() {
+        log.debug("Loading book catalog from the database");
+        return bookRepository.findAllActiveResponses();
+    }
+
+    /**
+     * Map entities without touching their lazy TEXT columns. When the fields need those, they are read for
+     * the whole page in one query rather than one lazy load per book.
+     */
+    private List<BookResponse> toResponses(List<Book> books, BookFields fields) {
+        List<BookResponse> responses = books.stream()
+                .map(bookMapper::toResponseWithoutText)
+                .collect(Collectors.toList());
+        if (fields.includesText() && !responses.isEmpty()) {
+            Map<Long, BookResponse> texts = bookRepository.findActiveResponsesByIdIn(
+                            responses.stream().map(BookResponse::getId).toList()).stream()
+                    .collect(Collectors.toMap(BookResponse::getId, book -> book));
+            responses.forEach(response -> {
+                BookResponse text = texts.get(response.getId());
+                if (text != null) {
+                    response.setCharacteristics(text.getCharacteristics());
+                    response.setDescription(text.getDescription());
+                }
+            });
+        }
+        return responses;
+    }
+
+    private static <T> List<T> distinct(Collection<T> keys) {
+        if (keys.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " books can be fetched at once");
+        }
+        return keys.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private Page<BookResponse> searchCatalog(CatalogSnapshot snapshot, BitSet matches,
+            Comparator<BookResponse> comparator, Pageable pageable) {
+        List<BookResponse> books = new ArrayList<>(matches.cardinality());
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            snapshot.findById((long) id).ifPresent(books::add);
+        }
+        books.sort(comparator);
+
+        int from = (int) Math.min(pageable.getOffset(), books.size());
+        int to = Math.min(from + pageable.getPageSize(), books.size());
+        return new PageImpl<>(new ArrayList<>(books.subList(from, to)), pageable, books.size());
+    }
 }
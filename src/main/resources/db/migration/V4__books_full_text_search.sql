@@ -0,0 +1,16 @@
+-- Full-text and trigram search support for books
+-- Version: 1.3.0
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE books
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(author, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(genre, '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_books_search_vector ON books USING GIN (search_vector);
+CREATE INDEX idx_books_name_trgm ON books USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_books_author_trgm ON books USING GIN (lower(author) gin_trgm_ops);
+CREATE INDEX idx_books_genre_trgm ON books USING GIN (lower(genre) gin_trgm_ops);
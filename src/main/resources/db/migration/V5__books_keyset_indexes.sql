@@ -0,0 +1,6 @@
+-- Composite indexes backing keyset pagination on the book search
+-- Version: 1.4.0
+
+CREATE INDEX idx_books_name_id ON books(name, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_books_author_id ON books(author, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_books_price_id ON books(price, id) WHERE deleted_at IS NULL;
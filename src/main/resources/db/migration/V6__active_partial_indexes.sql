@@ -0,0 +1,20 @@
+-- Partial indexes over active rows only, matching the soft-delete restriction on the entities
+-- Version: 1.5.0
+
+-- Name and email stay unique across all rows through their UNIQUE constraints, whose indexes also
+-- serve email lookups; active name and author lookups use the (name, id) and (author, id) indexes of V5
+DROP INDEX IF EXISTS idx_books_name;
+DROP INDEX IF EXISTS idx_books_author;
+DROP INDEX IF EXISTS idx_books_genre;
+DROP INDEX IF EXISTS idx_users_email;
+DROP INDEX IF EXISTS idx_orders_client;
+DROP INDEX IF EXISTS idx_orders_employee;
+DROP INDEX IF EXISTS idx_orders_status;
+DROP INDEX IF EXISTS idx_orders_date;
+
+CREATE INDEX idx_books_genre_active ON books(genre) WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_orders_client_date_active ON orders(client_id, order_date) WHERE deleted_at IS NULL;
+CREATE INDEX idx_orders_employee_active ON orders(employee_id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_orders_status_active ON orders(status) WHERE deleted_at IS NULL;
+CREATE INDEX idx_orders_date_active ON orders(order_date) WHERE deleted_at IS NULL;
@@ -0,0 +1,307 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheTest {
+
+    private static final CacheRefreshPolicy DEFAULT_POLICY =
+            new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run);
+    private static final CacheRefreshPolicy ALWAYS_STALE =
+            new CacheRefreshPolicy(Duration.ZERO, Duration.ofHours(1), Runnable::run);
+
+    private BookCache bookCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry, DEFAULT_POLICY);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnlyOnMiss() {
+        bookCache.get("A", () -> load("A", "v1"));
+        BookResponse result = bookCache.get("A", () -> load("A", "v2"));
+
+        assertEquals("v1", result.getDescription());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void get_ShouldCoalesceConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BookResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> bookCache.get("A", () -> {
+                loading.countDown();
+                await(release);
+                return load("A", "v1");
+            })));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> bookCache.get("A", () -> load("A", "duplicate"))));
+            }
+            while (count("coalesced") < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<BookResponse> result : results) {
+                assertEquals("v1", result.get(5, TimeUnit.SECONDS).getDescription());
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, count("loaded"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldRetryAfterFailedLoad() {
+        assertThrows(ResourceNotFoundException.class, () -> bookCache.get("A", () -> {
+            throw new ResourceNotFoundException("Book", "name", "A");
+        }));
+
+        assertEquals("v1", bookCache.get("A", () -> load("A", "v1")).getDescription());
+    }
+
+    @Test
+    void get_ShouldServeStaleBook_WhileRefreshingInBackground() {
+        List<Runnable> refreshes = new ArrayList<>();
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry,
+                new CacheRefreshPolicy(Duration.ZERO, Duration.ofHours(1), refreshes::add));
+        bookCache.get("A", () -> load("A", "v1"));
+
+        BookResponse stale = bookCache.get("A", () -> load("A", "v2"));
+        bookCache.get("A", () -> load("A", "v3"));
+        refreshes.forEach(Runnable::run);
+
+        assertEquals("v1", stale.getDescription());
+        assertEquals(1, refreshes.size());
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v4")).getDescription());
+        assertEquals(3, meterRegistry.get("bookstore.cache.stale").tags("cache", "books").counter().count());
+        assertEquals(1, refreshCount("success"));
+    }
+
+    @Test
+    void get_ShouldKeepServingStaleBook_WhenDatabaseIsUnavailable() {
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry, ALWAYS_STALE);
+        bookCache.get("A", () -> load("A", "v1"));
+
+        BookResponse first = bookCache.get("A", () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        });
+        BookResponse second = bookCache.get("A", () -> load("A", "v2"));
+
+        assertEquals("v1", first.getDescription());
+        assertEquals("v1", second.getDescription());
+        assertEquals(1, refreshCount("failure"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldDropStaleBook_WhenRefreshFindsItGone() {
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry, ALWAYS_STALE);
+        bookCache.get("A", () -> load("A", "v1"));
+
+        bookCache.get("A", () -> {
+            throw new ResourceNotFoundException("Book", "name", "A");
+        });
+
+        assertThrows(ResourceNotFoundException.class, () -> bookCache.get("A", () -> {
+            throw new ResourceNotFoundException("Book", "name", "A");
+        }));
+    }
+
+    @Test
+    void get_ShouldReloadExpiredBook() {
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry,
+                new CacheRefreshPolicy(Duration.ZERO, Duration.ZERO, Runnable::run));
+        bookCache.get("A", () -> load("A", "v1"));
+
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v2")).getDescription());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_ShouldOnlyAffectGivenName() {
+        bookCache.get("A", () -> load("A", "v1"));
+        bookCache.get("B", () -> load("B", "v1"));
+
+        bookCache.evict("A");
+
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v2")).getDescription());
+        assertEquals("v1", bookCache.get("B", () -> load("B", "v2")).getDescription());
+    }
+
+    @Test
+    void evict_ShouldKeepStaleLoadFromRacingBackIn() {
+        BookResponse stale = bookCache.get("A", () -> {
+            BookResponse loaded = load("A", "stale");
+            bookCache.evict("A");
+            return loaded;
+        });
+
+        BookResponse fresh = bookCache.get("A", () -> load("A", "fresh"));
+
+        assertEquals("stale", stale.getDescription());
+        assertEquals("fresh", fresh.getDescription());
+    }
+
+    @Test
+    void evictAll_ShouldReloadEveryName() {
+        bookCache.get("A", () -> load("A", "v1"));
+        bookCache.get("B", () -> load("B", "v1"));
+
+        bookCache.evictAll();
+
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v2")).getDescription());
+        assertEquals("v2", bookCache.get("B", () -> load("B", "v2")).getDescription());
+    }
+
+    @Test
+    void evictAll_ShouldKeepStaleLoadFromRacingBackIn_AfterForgettingGenerations() {
+        bookCache.evict("A");
+        BookResponse stale = bookCache.get("A", () -> {
+            BookResponse loaded = load("A", "stale");
+            bookCache.evictAll();
+            bookCache.evict("A");
+            return loaded;
+        });
+
+        BookResponse fresh = bookCache.get("A", () -> load("A", "fresh"));
+
+        assertEquals("stale", stale.getDescription());
+        assertEquals("fresh", fresh.getDescription());
+    }
+
+    @Test
+    void evict_ShouldForgetGenerations_WhenTooManyNamesTracked() {
+        bookCache.get("A", () -> load("A", "v1"));
+
+        for (int i = 0; i <= BookCache.MAX_GENERATIONS; i++) {
+            bookCache.evict("Book " + i);
+        }
+
+        assertEquals(0, bookCache.trackedNames());
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v2")).getDescription());
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyMisses_InOneCall() {
+        bookCache.get("A", () -> load("A", "cached"));
+        List<Set<String>> calls = new ArrayList<>();
+
+        Map<String, BookResponse> result = bookCache.getAll(List.of("A", "B", "C"), missing -> {
+            calls.add(Set.copyOf(missing));
+            return Map.of("B", load("B", "loaded"));
+        });
+
+        assertEquals(List.of(Set.of("B", "C")), calls);
+        assertEquals("cached", result.get("A").getDescription());
+        assertEquals("loaded", result.get("B").getDescription());
+        assertFalse(result.containsKey("C"));
+        assertEquals("loaded", bookCache.get("B", () -> load("B", "v2")).getDescription());
+    }
+
+    @Test
+    void getAll_ShouldRefreshStaleBooks_InOneCall() {
+        bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), meterRegistry, ALWAYS_STALE);
+        bookCache.getAll(List.of("A", "B"), missing -> Map.of("A", load("A", "v1"), "B", load("B", "v1")));
+        List<Set<String>> calls = new ArrayList<>();
+
+        Map<String, BookResponse> result = bookCache.getAll(List.of("A", "B"), missing -> {
+            calls.add(Set.copyOf(missing));
+            return Map.of("A", load("A", "v2"));
+        });
+
+        assertEquals("v1", result.get("A").getDescription());
+        assertEquals(List.of(Set.of("A", "B")), calls);
+        assertEquals("v2", bookCache.get("A", () -> load("A", "v3")).getDescription());
+        assertEquals("v3", bookCache.get("B", () -> load("B", "v3")).getDescription());
+    }
+
+    @Test
+    void getAll_ShouldUseCaffeineBulkLookup() {
+        bookCache = new BookCache(new CaffeineCacheManager(BookCache.CACHE_NAME), meterRegistry, DEFAULT_POLICY);
+        bookCache.getAll(List.of("A", "B"), missing -> Map.of("A", load("A", "v1"), "B", load("B", "v1")));
+
+        Map<String, BookResponse> result = bookCache.getAll(List.of("B", "A"), missing -> {
+            throw new AssertionError("Unexpected load of " + missing);
+        });
+
+        assertEquals(Set.of("A", "B"), result.keySet());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAll_ShouldCountHitsAndMissesByName() {
+        bookCache = new BookCache(new CaffeineCacheManager(BookCache.CACHE_NAME), meterRegistry, DEFAULT_POLICY);
+        bookCache.get("A", () -> load("A", "v1"));
+
+        bookCache.getAll(List.of("A", "B", "C"), missing -> Map.of("B", load("B", "v1")));
+        bookCache.get("B", () -> load("B", "v2"));
+
+        assertEquals(2, requestCount("hit"));
+        assertEquals(3, requestCount("miss"));
+        assertEquals(2, meterRegistry.get("bookstore.cache.load.duration")
+                .tags("cache", "books", "result", "success").timer().count());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("bookstore.cache.loads").tags("cache", "books", "result", result).counter().count();
+    }
+
+    private double requestCount(String result) {
+        return meterRegistry.get("bookstore.cache.requests").tags("cache", "books", "key", "name", "result", result)
+                .counter().count();
+    }
+
+    private double refreshCount(String result) {
+        return meterRegistry.get("bookstore.cache.refreshes").tags("cache", "books", "result", result).counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BookResponse load(String name, String description) {
+        loads.incrementAndGet();
+        BookResponse book = new BookResponse();
+        book.setName(name);
+        book.setDescription(description);
+        return book;
+    }
+}
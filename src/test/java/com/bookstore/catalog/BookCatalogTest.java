@@ -0,0 +1,253 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCatalogTest {
+
+    private BookCatalog bookCatalog;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookCatalog = new BookCatalog(List.of(), meterRegistry,
+                new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void snapshot_ShouldLoadOnce() {
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+        CatalogSnapshot snapshot = bookCatalog.snapshot(() -> load(book(2L, "B")));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, snapshot.size());
+        assertEquals("A", snapshot.getBooks().get(0).getName());
+    }
+
+    @Test
+    void put_ShouldPublishNewSnapshot_WithoutTouchingOldOne() {
+        CatalogSnapshot before = bookCatalog.snapshot(() -> load(book(1L, "A")));
+
+        bookCatalog.put(book(1L, "A2"));
+        bookCatalog.put(book(2L, "B"));
+        CatalogSnapshot after = bookCatalog.current().orElseThrow();
+
+        assertEquals("A", before.getBooks().get(0).getName());
+        assertEquals(List.of("A2", "B"), after.getBooks().stream().map(BookResponse::getName).toList());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void remove_ShouldDropBookFromSnapshot() {
+        bookCatalog.snapshot(() -> load(book(1L, "A"), book(2L, "B")));
+
+        bookCatalog.remove(1L);
+
+        CatalogSnapshot snapshot = bookCatalog.current().orElseThrow();
+        assertTrue(snapshot.findById(1L).isEmpty());
+        assertEquals(1, snapshot.size());
+    }
+
+    @Test
+    void snapshot_ShouldKeepChangesCommittedDuringLoad() {
+        CatalogSnapshot snapshot = bookCatalog.snapshot(() -> {
+            bookCatalog.put(book(3L, "C"));
+            bookCatalog.remove(1L);
+            return load(book(1L, "A"), book(2L, "B"));
+        });
+
+        assertEquals(List.of(2L, 3L), snapshot.getBooks().stream().map(BookResponse::getId).toList());
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() {
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+
+        bookCatalog.invalidate();
+
+        assertTrue(bookCatalog.current().isEmpty());
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void snapshot_ShouldCountReadsAsAllKey() {
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+
+        assertEquals(2, requestCount("hit"));
+        assertEquals(1, requestCount("miss"));
+    }
+
+    @Test
+    void snapshot_ShouldServeStaleSnapshot_WhileRefreshingInBackground() {
+        List<Runnable> refreshes = new ArrayList<>();
+        bookCatalog = new BookCatalog(List.of(), meterRegistry,
+                new CacheRefreshPolicy(Duration.ZERO, Duration.ofHours(1), refreshes::add));
+        bookCatalog.snapshot(() -> load(book(1L, "A")));
+
+        CatalogSnapshot stale = bookCatalog.snapshot(() -> load(book(2L, "B")));
+        refreshes.forEach(Runnable::run);
+
+        assertEquals("A", stale.getBooks().get(0).getName());
+        assertEquals("B", bookCatalog.current().orElseThrow().getBooks().get(0).getName());
+        assertEquals(1, meterRegistry.get("bookstore.cache.stale").tags("cache", "catalog").counter().count());
+    }
+
+    @Test
+    void snapshot_ShouldServeLastSnapshot_WhenDatabaseIsUnavailable() {
+        CatalogSnapshot loaded = bookCatalog.snapshot(() -> load(book(1L, "A")));
+        bookCatalog.invalidate();
+
+        CatalogSnapshot fallback = bookCatalog.snapshot(() -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        });
+        CatalogSnapshot refreshed = bookCatalog.snapshot(() -> load(book(2L, "B")));
+
+        assertSame(loaded, fallback);
+        assertSame(loaded, refreshed);
+        assertEquals("B", bookCatalog.current().orElseThrow().getBooks().get(0).getName());
+    }
+
+    @Test
+    void snapshot_ShouldFail_WhenDatabaseIsUnavailable_AndNothingWasLoaded() {
+        assertThrows(DataAccessResourceFailureException.class, () -> bookCatalog.snapshot(() -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        }));
+        assertTrue(bookCatalog.current().isEmpty());
+    }
+
+    @Test
+    void fingerprint_ShouldDependOnBookVersions_NotOrder() {
+        BookResponse a = book(1L, "A");
+        BookResponse b = book(2L, "B");
+        a.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        b.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L, List.of(a, b));
+
+        BookResponse updated = book(1L, "A");
+        updated.setUpdatedAt(LocalDateTime.of(2024, 1, 3, 0, 0));
+        CatalogSnapshot patched = snapshot.patch(2L, Map.of(1L, updated));
+
+        assertEquals(snapshot.getFingerprint(), CatalogSnapshot.of(3L, List.of(b, a)).getFingerprint());
+        assertNotEquals(snapshot.getFingerprint(), patched.getFingerprint());
+        assertEquals(updated.getUpdatedAt(), patched.getLastModified());
+        assertEquals("B", patched.findByName("B").orElseThrow().getName());
+    }
+
+    @Test
+    void patch_ShouldDeriveLastModifiedFromBooks_WhenRemoving() {
+        BookResponse a = book(1L, "A");
+        BookResponse b = book(2L, "B");
+        a.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        b.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+
+        CatalogSnapshot patched = CatalogSnapshot.of(1L, List.of(a, b)).patch(2L, Collections.singletonMap(2L, null));
+
+        assertEquals(CatalogSnapshot.of(3L, List.of(a)).getLastModified(), patched.getLastModified());
+        assertEquals(CatalogSnapshot.of(3L, List.of(a)).getFingerprint(), patched.getFingerprint());
+    }
+
+    @Test
+    void patch_ShouldMoveNames_WhenBooksSwapNames() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L, List.of(book(1L, "A"), book(2L, "B")));
+
+        Map<Long, BookResponse> changes = new LinkedHashMap<>();
+        changes.put(1L, book(1L, "B"));
+        changes.put(2L, book(2L, "A"));
+        CatalogSnapshot patched = snapshot.patch(2L, changes);
+
+        assertEquals(2L, patched.findByName("A").orElseThrow().getId());
+        assertEquals(1L, patched.findByName("B").orElseThrow().getId());
+        assertEquals(1L, snapshot.findByName("A").orElseThrow().getId());
+    }
+
+    @Test
+    void patch_ShouldMatchFreshSnapshot_AfterManyRemovalsAndAppends() {
+        List<BookResponse> books = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            books.add(book(id, "Book " + id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L, books);
+
+        for (long id = 1; id <= 250; id++) {
+            snapshot = snapshot.patch(snapshot.getVersion() + 1, Collections.singletonMap(id, null));
+        }
+        snapshot = snapshot.patch(snapshot.getVersion() + 1, Map.of(301L, book(301L, "Book 301")));
+        snapshot = snapshot.patch(snapshot.getVersion() + 1, Map.of(1L, book(1L, "Book 1")));
+
+        List<BookResponse> expected = new ArrayList<>(books.subList(250, 300));
+        expected.add(book(301L, "Book 301"));
+        expected.add(book(1L, "Book 1"));
+        CatalogSnapshot fresh = CatalogSnapshot.of(1L, expected);
+        assertEquals(52, snapshot.size());
+        assertEquals(fresh.getBooks().stream().map(BookResponse::getId).toList(),
+                snapshot.getBooks().stream().map(BookResponse::getId).toList());
+        assertEquals(fresh.getFingerprint(), snapshot.getFingerprint());
+        assertTrue(snapshot.findById(250L).isEmpty());
+        assertTrue(snapshot.findByName("Book 250").isEmpty());
+        assertEquals(301L, snapshot.findByName("Book 301").orElseThrow().getId());
+    }
+
+    @Test
+    void patch_ShouldShareUntouchedBooks() {
+        BookResponse a = book(1L, "A");
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L, List.of(a, book(2L, "B")));
+
+        CatalogSnapshot patched = snapshot.patch(2L, Map.of(2L, book(2L, "B2")));
+
+        assertSame(a, patched.findById(1L).orElseThrow());
+        assertSame(a, patched.findByName("A").orElseThrow());
+        assertEquals("B", snapshot.findById(2L).orElseThrow().getName());
+        assertTrue(patched.findByName("B").isEmpty());
+    }
+
+    @Test
+    void patch_ShouldKeepLastModified_WhenLatestBookIsUpdated() {
+        BookResponse a = book(1L, "A");
+        BookResponse b = book(2L, "B");
+        a.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        b.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        BookResponse older = book(2L, "B");
+        older.setUpdatedAt(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+        CatalogSnapshot patched = CatalogSnapshot.of(1L, List.of(a, b)).patch(2L, Map.of(2L, older));
+
+        assertEquals(a.getUpdatedAt(), patched.getLastModified());
+    }
+
+    private double requestCount(String result) {
+        return meterRegistry.get("bookstore.cache.requests").tags("cache", "catalog", "key", "all", "result", result)
+                .counter().count();
+    }
+
+    private List<BookResponse> load(BookResponse... books) {
+        loads.incrementAndGet();
+        return List.of(books);
+    }
+
+    private static BookResponse book(Long id, String name) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        return book;
+    }
+}
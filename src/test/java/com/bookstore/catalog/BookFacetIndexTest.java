@@ -0,0 +1,96 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.model.enums.AgeGroup;
+import com.bookstore.model.enums.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookFacetIndexTest {
+
+    private BookFacetIndex index;
+    private BitSet all;
+
+    @BeforeEach
+    void setUp() {
+        index = BookFacetIndex.of(CatalogSnapshot.of(1L, List.of(
+                book(1L, AgeGroup.CHILDREN, Language.SPANISH, "Fantasy"),
+                book(2L, AgeGroup.CHILDREN, Language.ENGLISH, "fantasy"),
+                book(3L, AgeGroup.ADULT, Language.SPANISH, "Crime"),
+                book(4L, AgeGroup.ADULT, Language.ENGLISH, null))));
+        all = new BitSet();
+        all.set(1, 5);
+    }
+
+    @Test
+    void search_ShouldIntersectAcrossFacets_AndUniteWithinFacet() {
+        BookFacetIndex.Result result = index.search(all, Map.of(
+                BookFacet.AGE_GROUP, List.of("children", "ALL_AGES"),
+                BookFacet.LANGUAGE, List.of("SPANISH")));
+
+        assertEquals(List.of(1), result.getMatches().stream().boxed().toList());
+    }
+
+    @Test
+    void search_ShouldCountEachFacetWithoutItsOwnSelection() {
+        BookFacetIndex.Result result = index.search(all, Map.of(BookFacet.LANGUAGE, List.of("SPANISH")));
+
+        assertEquals(Map.of("SPANISH", 2, "ENGLISH", 2), result.getCounts().get(BookFacet.LANGUAGE));
+        assertEquals(Map.of("CHILDREN", 1, "ADULT", 1), result.getCounts().get(BookFacet.AGE_GROUP));
+        assertEquals(Map.of("Fantasy", 1, "Crime", 1), result.getCounts().get(BookFacet.GENRE));
+    }
+
+    @Test
+    void search_ShouldRestrictToCandidates() {
+        BitSet candidates = new BitSet();
+        candidates.set(2);
+
+        BookFacetIndex.Result result = index.search(candidates, Map.of());
+
+        assertEquals(Map.of("Fantasy", 1), result.getCounts().get(BookFacet.GENRE));
+        assertEquals(Map.of("ENGLISH", 1), result.getCounts().get(BookFacet.LANGUAGE));
+    }
+
+    @Test
+    void onPut_ShouldMoveBookBetweenValues() {
+        BookResponse previous = book(3L, AgeGroup.ADULT, Language.SPANISH, "Crime");
+        index.onPut(previous, book(3L, AgeGroup.ADULT, Language.FRENCH, "Crime"));
+
+        BookFacetIndex.Result result = index.search(all, Map.of(BookFacet.LANGUAGE, List.of("FRENCH")));
+
+        assertEquals(List.of(3), result.getMatches().stream().boxed().toList());
+        assertEquals(Map.of("SPANISH", 1, "ENGLISH", 2, "FRENCH", 1), result.getCounts().get(BookFacet.LANGUAGE));
+    }
+
+    @Test
+    void onRemove_ShouldDropEmptyValues() {
+        index.onRemove(book(3L, AgeGroup.ADULT, Language.SPANISH, "Crime"));
+
+        BookFacetIndex.Result result = index.search(all, Map.of());
+
+        assertFalse(result.getCounts().get(BookFacet.GENRE).containsKey("Crime"));
+    }
+
+    @Test
+    void onInvalidate_ShouldMarkNotReady() {
+        index.onInvalidate();
+
+        assertFalse(index.isReady());
+    }
+
+    private static BookResponse book(Long id, AgeGroup ageGroup, Language language, String genre) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName("Book " + id);
+        book.setAgeGroup(ageGroup);
+        book.setLanguage(language);
+        book.setGenre(genre);
+        return book;
+    }
+}
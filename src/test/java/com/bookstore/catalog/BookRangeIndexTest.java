@@ -0,0 +1,86 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookRangeIndexTest {
+
+    private BookRangeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = BookRangeIndex.of(CatalogSnapshot.of(1L, List.of(
+                book(1L, "12.50", LocalDate.of(1999, 12, 31)),
+                book(2L, "4.99", LocalDate.of(2005, 3, 1)),
+                book(3L, "12.50", null),
+                book(4L, null, LocalDate.of(1990, 1, 1)),
+                book(5L, "30.00", LocalDate.of(2021, 7, 15)))));
+    }
+
+    @Test
+    void range_ShouldIncludeBothBounds() {
+        assertEquals(List.of(1, 2, 3), ids(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 499, 1250)));
+    }
+
+    @Test
+    void range_ShouldSupportOpenBounds_AndSkipMissingValues() {
+        assertEquals(List.of(1, 3, 5), ids(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 1000, Long.MAX_VALUE)));
+        assertEquals(List.of(1, 4), ids(index.range(BookRangeIndex.Attribute.PUBLICATION_EPOCH_DAY,
+                Long.MIN_VALUE, LocalDate.of(1999, 12, 31).toEpochDay())));
+    }
+
+    @Test
+    void range_ShouldReturnEmpty_WhenNothingInRange() {
+        assertTrue(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 5000, 9000).isEmpty());
+    }
+
+    @Test
+    void onPut_ShouldMoveBookToNewKey() {
+        index.onPut(book(2L, "4.99", LocalDate.of(2005, 3, 1)), book(2L, "15.00", LocalDate.of(2005, 3, 1)));
+
+        assertEquals(List.of(1, 3), ids(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 0, 1499)));
+        assertEquals(List.of(2, 5), ids(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 1500, Long.MAX_VALUE)));
+    }
+
+    @Test
+    void onRemove_ShouldDropBook() {
+        index.onRemove(book(1L, "12.50", LocalDate.of(1999, 12, 31)));
+
+        assertEquals(List.of(3), ids(index.range(BookRangeIndex.Attribute.PRICE_CENTS, 1250, 1250)));
+    }
+
+    @Test
+    void cents_ShouldRoundWithGivenMode() {
+        assertEquals(500, BookRangeIndex.cents(new BigDecimal("4.991"), RoundingMode.CEILING));
+        assertEquals(499, BookRangeIndex.cents(new BigDecimal("4.999"), RoundingMode.FLOOR));
+    }
+
+    @Test
+    void cents_ShouldClamp_WhenBeyondLongRange() {
+        assertEquals(Long.MAX_VALUE, BookRangeIndex.cents(new BigDecimal("1e30"), RoundingMode.FLOOR));
+        assertEquals(Long.MIN_VALUE, BookRangeIndex.cents(new BigDecimal("-1e30"), RoundingMode.CEILING));
+        assertEquals(Long.MAX_VALUE, BookRangeIndex.cents(new BigDecimal("1e999999999"), RoundingMode.FLOOR));
+    }
+
+    private static List<Integer> ids(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+
+    private static BookResponse book(Long id, String price, LocalDate published) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName("Book " + id);
+        book.setPrice(price != null ? new BigDecimal(price) : null);
+        book.setPublicationYear(published);
+        return book;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        snapshot = CatalogSnapshot.of(1L, List.of(
+                book(1L, "The Hobbit", "J.R.R. Tolkien", "Fantasy"),
+                book(2L, "1984", "George Orwell", "Dystopian Fiction"),
+                book(3L, "Harry Potter", "J.K. Rowling", "Fantasy")));
+    }
+
+    @Test
+    void isReady_ShouldBeFalse_UntilLoaded() {
+        assertFalse(index.isReady());
+        index.onLoad(snapshot);
+        assertTrue(index.isReady());
+        index.onInvalidate();
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsIgnoringCase() {
+        index.onLoad(snapshot);
+
+        assertEquals(bits(1, 3), index.search("FANT"));
+        assertEquals(bits(2), index.search("orwell"));
+        assertEquals(bits(1, 2, 3), index.search("o"));
+        assertEquals(bits(1, 2, 3), index.search(""));
+        assertEquals(new BitSet(), index.search("dune"));
+    }
+
+    @Test
+    void search_ShouldNotMatchAcrossFields() {
+        index.onLoad(snapshot);
+
+        assertEquals(new BitSet(), index.search("hobbitj.r.r"));
+    }
+
+    @Test
+    void onPut_ShouldReplacePreviousTerms() {
+        index.onLoad(snapshot);
+
+        index.onPut(snapshot.findById(2L).orElseThrow(), book(2L, "Animal Farm", "George Orwell", "Satire"));
+
+        assertEquals(new BitSet(), index.search("1984"));
+        assertEquals(bits(2), index.search("farm"));
+    }
+
+    @Test
+    void onRemove_ShouldDropBook() {
+        index.onLoad(snapshot);
+
+        index.onRemove(snapshot.findById(1L).orElseThrow());
+
+        assertEquals(bits(3), index.search("fantasy"));
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    private static BookResponse book(Long id, String name, String author, String genre) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setGenre(genre);
+        return book;
+    }
+}
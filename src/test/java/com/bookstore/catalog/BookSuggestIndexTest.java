@@ -0,0 +1,84 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSuggestIndexTest {
+
+    private BookSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = BookSuggestIndex.of(CatalogSnapshot.of(1L, List.of(
+                book(1L, "The Great Gatsby", "F. Scott Fitzgerald"),
+                book(2L, "Cien años de soledad", "Gabriel García Márquez"),
+                book(3L, "El amor en los tiempos del cólera", "Gabriel García Márquez"),
+                book(4L, "Gardens", "Ana Gómez"))));
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordStart_IgnoringCaseAndAccents() {
+        assertEquals(List.of(author("Gabriel García Márquez")), index.suggest("MARQ", 10));
+        assertEquals(List.of(name("El amor en los tiempos del cólera")), index.suggest("colera", 10));
+        assertEquals(List.of(name("The Great Gatsby")), index.suggest("great g", 10));
+    }
+
+    @Test
+    void suggest_ShouldRankSharedValuesFirst_ThenShorter() {
+        assertEquals(List.of(author("Gabriel García Márquez"), name("Gardens"), name("The Great Gatsby")),
+                index.suggest("ga", 10));
+    }
+
+    @Test
+    void suggest_ShouldHonourLimit_AndIgnoreBlankPrefix() {
+        assertEquals(1, index.suggest("ga", 1).size());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest("zzz", 10).isEmpty());
+    }
+
+    @Test
+    void onPut_ShouldReplaceOldValues() {
+        index.onPut(book(4L, "Gardens", "Ana Gómez"), book(4L, "Garden Party", "Ana Gómez"));
+
+        assertEquals(List.of(name("Garden Party")), index.suggest("gard", 10));
+        assertTrue(index.suggest("gardens", 10).isEmpty());
+    }
+
+    @Test
+    void onRemove_ShouldKeepValuesStillUsedByOtherBooks() {
+        index.onRemove(book(2L, "Cien años de soledad", "Gabriel García Márquez"));
+
+        assertTrue(index.suggest("cien", 10).isEmpty());
+        assertEquals(List.of(author("Gabriel García Márquez")), index.suggest("gabriel", 10));
+    }
+
+    @Test
+    void onInvalidate_ShouldMarkNotReady() {
+        index.onInvalidate();
+
+        assertFalse(index.isReady());
+        assertTrue(index.suggest("ga", 10).isEmpty());
+    }
+
+    private static BookSuggestion name(String text) {
+        return new BookSuggestion(text, "name");
+    }
+
+    private static BookSuggestion author(String text) {
+        return new BookSuggestion(text, "author");
+    }
+
+    private static BookResponse book(Long id, String name, String author) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        return book;
+    }
+}
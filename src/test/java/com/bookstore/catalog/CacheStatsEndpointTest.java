@@ -0,0 +1,80 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsEndpointTest {
+
+    private static final CacheRefreshPolicy POLICY =
+            new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run);
+
+    private BookCache bookCache;
+    private BookCatalog bookCatalog;
+    private CacheStatsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(BookCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(1024 * 1024)
+                .weigher(new RetainedSizeWeigher())
+                .recordStats()
+                .build());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bookCache = new BookCache(cacheManager, meterRegistry, POLICY);
+        bookCatalog = new BookCatalog(List.of(), meterRegistry, POLICY);
+        endpoint = new CacheStatsEndpoint(cacheManager, bookCatalog);
+    }
+
+    @Test
+    void caches_ShouldReportSizeAndHottestBookNames() {
+        bookCache.get("A", () -> book(1L, "A"));
+        bookCache.get("A", () -> book(1L, "A"));
+        bookCache.get("B", () -> book(2L, "B"));
+
+        CacheStatsEndpoint.Usage books = endpoint.caches().get(BookCache.CACHE_NAME);
+
+        assertEquals(2, books.getEntries());
+        assertTrue(books.getBytes() > 0);
+        assertEquals(1024 * 1024, books.getMaximumBytes());
+        assertEquals(Set.of("A", "B"), Set.copyOf(books.getHottestKeys()));
+    }
+
+    @Test
+    void caches_ShouldLimitHottestKeys() {
+        bookCache.get("A", () -> book(1L, "A"));
+        bookCache.get("B", () -> book(2L, "B"));
+
+        assertEquals(1, endpoint.caches(1).get(BookCache.CACHE_NAME).getHottestKeys().size());
+    }
+
+    @Test
+    void caches_ShouldReportCatalog_OnlyWhenLoaded() {
+        assertFalse(endpoint.caches().containsKey("catalog"));
+
+        bookCatalog.snapshot(() -> List.of(book(1L, "A"), book(2L, "B")));
+        Map<String, CacheStatsEndpoint.Usage> caches = endpoint.caches();
+
+        assertEquals(2, caches.get("catalog").getEntries());
+        assertTrue(caches.get("catalog").getBytes() > 0);
+        assertNull(caches.get("catalog").getHottestKeys());
+    }
+
+    private static BookResponse book(Long id, String name) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        return book;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .addMixIn(BookResponse.class, BookFields.FilterMixin.class)
+            .setFilterProvider(BookFields.defaultFilters());
+
+    private CatalogResponseCache catalogResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        catalogResponseCache = new CatalogResponseCache(objectMapper);
+    }
+
+    @Test
+    void render_ShouldSerializeOncePerVersion() {
+        CatalogSnapshot catalog = CatalogSnapshot.of(1L, List.of(book(1L, "A")));
+
+        CatalogResponseCache.Rendered first = catalogResponseCache.render(catalog);
+        CatalogResponseCache.Rendered second = catalogResponseCache.render(catalog);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void render_ShouldRebuild_AfterPatch() throws Exception {
+        CatalogSnapshot catalog = CatalogSnapshot.of(1L, List.of(book(1L, "A")));
+        catalogResponseCache.render(catalog);
+
+        CatalogSnapshot patched = catalog.patch(2L, Map.of(2L, book(2L, "B")));
+        CatalogResponseCache.Rendered rendered = catalogResponseCache.render(patched);
+
+        assertEquals(2L, rendered.getVersion());
+        assertEquals(2, objectMapper.readTree(rendered.getJson()).get("data").size());
+    }
+
+    @Test
+    void render_ShouldGzipSameJson() throws Exception {
+        CatalogResponseCache.Rendered rendered = catalogResponseCache.render(
+                CatalogSnapshot.of(1L, List.of(book(1L, "A"))));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(rendered.getGzip()))) {
+            assertArrayEquals(rendered.getJson(), in.readAllBytes());
+        }
+        assertEquals("A", objectMapper.readTree(rendered.getJson()).at("/data/0/name").asText());
+    }
+
+    @Test
+    void render_ShouldKeepOnlyRequestedFields() throws Exception {
+        CatalogSnapshot catalog = CatalogSnapshot.of(1L, List.of(book(1L, "A")));
+
+        byte[] json = catalogResponseCache.render(catalog, BookFields.parse("id"));
+
+        assertEquals("{\"id\":1}", objectMapper.readTree(json).at("/data/0").toString());
+        assertEquals("A", objectMapper.readTree(catalogResponseCache.render(catalog).getJson()).at("/data/0/name").asText());
+    }
+
+    private static BookResponse book(Long id, String name) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        return book;
+    }
+}
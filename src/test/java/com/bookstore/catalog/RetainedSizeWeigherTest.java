@@ -0,0 +1,56 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.response.BookResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetainedSizeWeigherTest {
+
+    private final RetainedSizeWeigher weigher = new RetainedSizeWeigher();
+
+    @Test
+    void weigh_ShouldGrowWithTextLength() {
+        BookResponse small = book("A short description");
+        BookResponse large = book("x".repeat(10_000));
+
+        int smallWeight = weigher.weigh("v0:Test Book", small);
+        int largeWeight = weigher.weigh("v0:Test Book", large);
+
+        assertTrue(smallWeight > 200, "a book with a few fields should weigh a few hundred bytes");
+        assertEquals(RetainedSizeWeigher.sizeOf("x".repeat(10_000)) - RetainedSizeWeigher.sizeOf("A short description"),
+                largeWeight - smallWeight);
+        assertTrue(largeWeight - smallWeight >= 9_900);
+    }
+
+    @Test
+    void sizeOf_ShouldCountTwoBytesPerChar_ForNonLatin1Text() {
+        assertTrue(RetainedSizeWeigher.sizeOf("日本語の本".repeat(100)) > RetainedSizeWeigher.sizeOf("x".repeat(900)));
+    }
+
+    @Test
+    void sizeOf_ShouldIncludeBook_ForCacheEntries() {
+        BookResponse book = book("A short description");
+
+        assertTrue(RetainedSizeWeigher.sizeOf(new BookCache.Entry(book, 0L)) > RetainedSizeWeigher.sizeOf(book));
+    }
+
+    @Test
+    void sizeOf_ShouldUseFixedEstimate_ForUnknownValues() {
+        assertEquals(RetainedSizeWeigher.UNKNOWN_VALUE_BYTES, RetainedSizeWeigher.sizeOf((Object) new Object()));
+    }
+
+    private static BookResponse book(String description) {
+        BookResponse book = new BookResponse();
+        book.setId(1L);
+        book.setName("Test Book");
+        book.setAuthor("Test Author");
+        book.setPrice(new BigDecimal("19.99"));
+        book.setDescription(description);
+        book.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return book;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookstore.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedMapTest {
+
+    @Test
+    void with_ShouldApplyChanges_WithoutTouchingOriginal() {
+        Map<Long, String> entries = new HashMap<>();
+        for (long key = 0; key < 1000; key++) {
+            entries.put(key, "v" + key);
+        }
+        ShardedMap<Long, String> map = ShardedMap.of(entries);
+
+        Map<Long, String> changes = new HashMap<>();
+        changes.put(1L, null);
+        changes.put(2L, "changed");
+        changes.put(1000L, "added");
+        ShardedMap<Long, String> patched = map.with(changes);
+
+        assertEquals(1000, map.size());
+        assertEquals("v1", map.get(1L));
+        assertNull(map.get(1000L));
+        assertEquals(1000, patched.size());
+        assertNull(patched.get(1L));
+        assertEquals("changed", patched.get(2L));
+        assertEquals("added", patched.get(1000L));
+        assertEquals("v3", patched.get(3L));
+    }
+
+    @Test
+    void with_ShouldIgnoreRemovalOfMissingKey() {
+        ShardedMap<String, String> map = ShardedMap.of(Map.of("a", "A"));
+
+        ShardedMap<String, String> patched = map.with(Collections.singletonMap("b", null));
+
+        assertEquals(1, patched.size());
+        assertEquals("A", patched.get("a"));
+    }
+}
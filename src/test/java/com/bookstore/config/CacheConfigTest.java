@@ -0,0 +1,62 @@
+package com.bookstore.config;
+
+import com.bookstore.catalog.CacheRefreshPolicy;
+import com.bookstore.dto.response.BookResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private static final CacheRefreshPolicy POLICY =
+            new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run);
+
+    @Test
+    void cacheManager_ShouldEvictByEstimatedBytes() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> books =
+                nativeCache(cacheManager(DataSize.ofMegabytes(1)), "books");
+
+        for (int i = 0; i < 1000; i++) {
+            BookResponse book = new BookResponse();
+            book.setName("Book " + i);
+            book.setDescription("x".repeat(2000));
+            books.put("v0:Book " + i, book);
+        }
+        books.cleanUp();
+
+        long weightedSize = books.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(weightedSize <= DataSize.ofMegabytes(1).toBytes());
+        assertTrue(books.estimatedSize() < 1000);
+    }
+
+    @Test
+    void cacheManager_ShouldExpireBooks_AfterStaleIfErrorWindow() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> books =
+                nativeCache(cacheManager(DataSize.ofMegabytes(4)), "books");
+
+        assertEquals(DataSize.ofMegabytes(4).toBytes(), books.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(POLICY.getExpireAfter(), books.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    void cacheManager_ShouldNotCreateUnknownCaches() {
+        CacheManager cacheManager = cacheManager(DataSize.ofMegabytes(4));
+
+        assertNull(cacheManager.getCache("clients"));
+        assertEquals(1, cacheManager.getCacheNames().size());
+    }
+
+    private static CacheManager cacheManager(DataSize maxSize) {
+        return new CacheConfig().cacheManager(POLICY, maxSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(CacheManager cacheManager,
+                                                                                      String name) {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookstore.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_ShouldTimeOut_WhenAllConnectionsAreHeld() throws SQLException {
+        try (Connection held = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleaseOnlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        Connection second = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void getConnection_ShouldReleasePermit_WhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("Connection refused")).thenReturn(connection);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertSame(connection, ((ConnectionProxy) dataSource.getConnection()).getTargetConnection());
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookstore.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routes between two in-memory H2 databases that each know their own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary");
+        replica = database("routing_replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_ShouldUseReplica_WhenTransactionIsReadOnly() throws Exception {
+        try (ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica), Duration.ZERO)) {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertEquals("routing_replica", whoAmI(routing));
+        }
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_WhenTransactionWrites() throws Exception {
+        try (ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica), Duration.ZERO)) {
+            assertEquals("routing_primary", whoAmI(routing));
+        }
+    }
+
+    @Test
+    void checkReplicas_ShouldSkipFailingReplicas() throws Exception {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", broken());
+        replicas.put("replica-2", replica);
+
+        try (ReplicaRoutingDataSource routing = routing(replicas, Duration.ZERO)) {
+            routing.checkReplicas();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertEquals(List.of("replica-2"), routing.getHealthyReplicas());
+            assertEquals("routing_replica", whoAmI(routing));
+            assertEquals("routing_replica", whoAmI(routing));
+        }
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenNoReplicaIsHealthy() throws Exception {
+        try (ReplicaRoutingDataSource routing = routing(Map.of("replica-1", broken()), Duration.ZERO)) {
+            routing.checkReplicas();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertEquals("routing_primary", whoAmI(routing));
+        }
+    }
+
+    @Test
+    void getConnection_ShouldReadOwnWrites_WithinWindow() throws Exception {
+        try (ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica), Duration.ofMinutes(1))) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new TestingAuthenticationToken("writer@bookstore.com", null, "ROLE_CLIENT"));
+            TransactionSynchronizationManager.initSynchronization();
+            assertEquals("routing_primary", whoAmI(routing));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.clearSynchronization();
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertEquals("routing_primary", whoAmI(routing));
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new TestingAuthenticationToken("reader@bookstore.com", null, "ROLE_CLIENT"));
+            assertEquals("routing_replica", whoAmI(routing));
+        }
+    }
+
+    @Test
+    void getConnection_ShouldNotPinReads_AfterWriteWithoutAuthenticatedCaller() throws Exception {
+        try (ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica), Duration.ofMinutes(1))) {
+            TransactionSynchronizationManager.initSynchronization();
+            assertEquals("routing_primary", whoAmI(routing));
+            assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+            TransactionSynchronizationManager.clearSynchronization();
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertEquals("routing_replica", whoAmI(routing));
+            SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                    "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+            assertEquals("routing_replica", whoAmI(routing));
+        }
+    }
+
+    private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas, Duration readYourWrites) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replicas, readYourWrites, Duration.ofHours(1));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static DataSource broken() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+        return broken;
+    }
+
+    /**
+     * Plain JDBC, so no connection gets bound to the thread between calls.
+     */
+    private static String whoAmI(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT name FROM whoami")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(50))");
+        jdbc.execute("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -1,7 +1,19 @@
 package com.bookstore.controller;
 
+import com.bookstore.catalog.BookFacet;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.request.BookRangeFilter;
 import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookFields;
+import com.bookstore.dto.response.BookImportResponse;
 import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import com.bookstore.dto.response.BookSummaryResponse;
+import com.bookstore.dto.response.FacetedSearchResponse;
+import com.bookstore.model.enums.ImportFormat;
+import com.bookstore.model.enums.SearchEngine;
+import com.bookstore.service.BookExportService;
+import com.bookstore.service.BookImportService;
 import com.bookstore.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,12 +26,23 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +57,12 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private BookImportService bookImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +76,8 @@ class BookControllerTest {
         bookResponse.setName("Test Book");
         bookResponse.setAuthor("Test Author");
         bookResponse.setPrice(BigDecimal.valueOf(19.99));
+        bookResponse.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        Mockito.when(bookService.getCatalog()).thenReturn(CatalogSnapshot.of(1L, List.of(bookResponse)));
 
         bookRequest = new BookRequest();
         bookRequest.setName("Test Book");
@@ -57,18 +88,100 @@ class BookControllerTest {
     @Test
     @WithMockUser
     void getAllBooks_ShouldReturnListOfBooks() throws Exception {
-        Mockito.when(bookService.getAllBooks()).thenReturn(List.of(bookResponse));
-
         mockMvc.perform(get("/api/v1/books"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
                 .andExpect(jsonPath("$.data[0].name").value("Test Book"));
     }
 
+    @Test
+    @WithMockUser
+    void getAllBooks_ShouldReturnGzippedBytes_WhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/books").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("Test Book", objectMapper.readTree(json).at("/data/0/name").asText());
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBooks_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/books"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/books").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBooks_ShouldReturnBooks_WhenCatalogChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/books"))
+                .andReturn().getResponse().getHeader("ETag");
+        BookResponse changed = new BookResponse();
+        changed.setId(1L);
+        changed.setName("Test Book");
+        changed.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 12, 0));
+        Mockito.when(bookService.getCatalog()).thenReturn(CatalogSnapshot.of(2L, List.of(changed)));
+
+        mockMvc.perform(get("/api/v1/books").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    void searchBooks_ShouldReturnNotModified_WithoutSearching() throws Exception {
+        String eTag = BookETags.forCatalog(bookService.getCatalog());
+
+        mockMvc.perform(get("/api/v1/books/search").param("search", "test").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(bookService, Mockito.never())
+                .getBooks(any(), any(SearchEngine.class), any(BookFields.class), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void getBookByName_ShouldReturnNotModified_WhenUnchangedSince() throws Exception {
+        Mockito.when(bookService.getBookByName("Test Book")).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/v1/books/{name}", "Test Book").header("If-Modified-Since", "Tue, 02 Jan 2024 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser
+    void exportBooks_ShouldStreamNdjson() throws Exception {
+        Mockito.when(bookExportService.exportBooks(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"name\":\"Test Book\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"name\":\"Test Book\"}\n"));
+    }
+
     @Test
     @WithMockUser
     void searchBooks_ShouldReturnPage() throws Exception {
         Page<BookResponse> page = new PageImpl<>(List.of(bookResponse));
-        Mockito.when(bookService.getBooks(any(), anyInt(), anyInt(), any(), any())).thenReturn(page);
+        Mockito.when(bookService.getBooks(any(), any(SearchEngine.class), any(BookFields.class), anyInt(), anyInt(), any(), any()))
+                .thenReturn(page);
 
         mockMvc.perform(get("/api/v1/books/search")
                 .param("search", "test")
@@ -78,6 +191,149 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.data.content[0].name").value("Test Book"));
     }
 
+    @Test
+    @WithMockUser
+    void searchBooks_ShouldReturnOnlyRequestedFields() throws Exception {
+        bookResponse.setDescription("Long description");
+        Mockito.when(bookService.getBooks(any(), any(SearchEngine.class), argThat(fields -> !fields.includesText()),
+                        anyInt(), anyInt(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(bookResponse)));
+
+        mockMvc.perform(get("/api/v1/books/search")
+                .param("fields", "name,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Book"))
+                .andExpect(jsonPath("$.data.content[0].price").value(19.99))
+                .andExpect(jsonPath("$.data.content[0].author").doesNotExist())
+                .andExpect(jsonPath("$.data.content[0].description").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void getBookByName_ShouldReturnInternalServerError_OnUnexpectedIllegalArgument() throws Exception {
+        Mockito.when(bookService.getBookByName("Test Book")).thenThrow(new IllegalArgumentException("bug"));
+
+        mockMvc.perform(get("/api/v1/books/{name}", "Test Book"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @WithMockUser
+    void searchBooks_ShouldReturnBadRequest_ForUnknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/books/search")
+                .param("fields", "name,isbn"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBooks_ShouldReturnOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/v1/books")
+                .param("fields", "name")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.data[0].name").value("Test Book"))
+                .andExpect(jsonPath("$.data[0].price").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void searchBooks_ShouldPassRequestedEngine() throws Exception {
+        Mockito.when(bookService.getBooks(eq("gatsby"), eq(SearchEngine.FULL_TEXT), any(BookFields.class), anyInt(), anyInt(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(bookResponse)));
+
+        mockMvc.perform(get("/api/v1/books/search")
+                .param("search", "gatsby")
+                .param("engine", "FULL_TEXT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Book"));
+    }
+
+    @Test
+    @WithMockUser
+    void searchBooksByFacets_ShouldPassSelectedValues() throws Exception {
+        FacetedSearchResponse response = new FacetedSearchResponse(new PageImpl<>(List.of(bookResponse)),
+                Map.of("language", Map.of("SPANISH", 1)));
+        Mockito.when(bookService.getFacetedBooks(any(),
+                eq(Map.of(BookFacet.AGE_GROUP, List.of("CHILDREN"), BookFacet.LANGUAGE, List.of("SPANISH", "ENGLISH"))),
+                any(), anyInt(), anyInt(), any(), any()))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books/search/facets")
+                .param("ageGroup", "CHILDREN")
+                .param("language", "SPANISH", "ENGLISH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.books.content[0].name").value("Test Book"))
+                .andExpect(jsonPath("$.data.facets.language.SPANISH").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void searchBooksByFacets_ShouldPassRanges() throws Exception {
+        FacetedSearchResponse response = new FacetedSearchResponse(new PageImpl<>(List.of(bookResponse)), Map.of());
+        Mockito.when(bookService.getFacetedBooks(any(), any(),
+                eq(new BookRangeFilter(new BigDecimal("5.00"), null, LocalDate.of(1990, 1, 1), null)),
+                anyInt(), anyInt(), any(), any()))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books/search/facets")
+                .param("minPrice", "5.00")
+                .param("publishedFrom", "1990-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.books.content[0].name").value("Test Book"));
+    }
+
+    @Test
+    @WithMockUser
+    void getBooksBatch_ShouldReturnBooksByName() throws Exception {
+        Mockito.when(bookService.getBooksByNames(List.of("Test Book", "Other")))
+                .thenReturn(List.of(bookResponse));
+
+        mockMvc.perform(get("/api/v1/books/batch")
+                .param("name", "Test Book", "Other"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Test Book"));
+    }
+
+    @Test
+    @WithMockUser
+    void getBooksBatch_ShouldReturnBadRequest_WhenNamesAndIdsGiven() throws Exception {
+        mockMvc.perform(get("/api/v1/books/batch")
+                .param("name", "Test Book")
+                .param("id", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void suggestBooks_ShouldReturnSuggestions() throws Exception {
+        Mockito.when(bookService.getSuggestions("gat", 5))
+                .thenReturn(List.of(new BookSuggestion("The Great Gatsby", "name")));
+
+        mockMvc.perform(get("/api/v1/books/suggest")
+                .param("prefix", "gat")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("The Great Gatsby"))
+                .andExpect(jsonPath("$.data[0].field").value("name"));
+    }
+
+    @Test
+    @WithMockUser
+    void searchBookSummaries_ShouldReturnPage() throws Exception {
+        BookSummaryResponse summary = new BookSummaryResponse();
+        summary.setName("Test Book");
+        Mockito.when(bookService.getBookSummaries(any(), anyInt(), anyInt(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(summary)));
+
+        mockMvc.perform(get("/api/v1/books/search/summary")
+                .param("search", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Book"))
+                .andExpect(jsonPath("$.data.content[0].description").doesNotExist());
+    }
+
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void createBook_ShouldCreateBook() throws Exception {
@@ -98,4 +354,35 @@ class BookControllerTest {
                 .content(objectMapper.writeValueAsString(bookRequest)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void importBooks_ShouldReturnSummary() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "books.csv", "text/csv",
+                "name,author,price\nTest Book,Test Author,19.99\n".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(bookImportService.importBooks(any(), eq(ImportFormat.CSV), eq(false)))
+                .thenReturn(new BookImportResponse(1, 1, 0, 0, List.of()));
+
+        mockMvc.perform(multipart("/api/v1/books/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.inserted").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void importBooks_ShouldReturnBadRequest_ForUnsupportedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "books.xlsx", "application/octet-stream", new byte[0]);
+
+        mockMvc.perform(multipart("/api/v1/books/import").file(file))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void importBooks_ShouldReturnForbidden_ForClient() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "books.csv", "text/csv", new byte[0]);
+
+        mockMvc.perform(multipart("/api/v1/books/import").file(file))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,67 @@
+package com.bookstore.controller;
+
+import com.bookstore.dto.request.BookRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Conditional GETs against the real service and database: an edit must change the validators.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookETagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void updateBook_ShouldChangeBookAndCatalogETags() throws Exception {
+        BookRequest request = new BookRequest();
+        request.setName("ETag Test Book");
+        request.setAuthor("Test Author");
+        request.setPrice(new BigDecimal("19.99"));
+        request.setDescription("First edition");
+        mockMvc.perform(post("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        String catalogETag = mockMvc.perform(get("/api/v1/books"))
+                .andReturn().getResponse().getHeader("ETag");
+        String bookETag = mockMvc.perform(get("/api/v1/books/{name}", "ETag Test Book"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        request.setDescription("Second edition");
+        mockMvc.perform(put("/api/v1/books/{name}", "ETag Test Book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String newBookETag = mockMvc.perform(get("/api/v1/books/{name}", "ETag Test Book")
+                .header("If-None-Match", bookETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.description").value("Second edition"))
+                .andReturn().getResponse().getHeader("ETag");
+        String newCatalogETag = mockMvc.perform(get("/api/v1/books").header("If-None-Match", catalogETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(bookETag, newBookETag);
+        assertNotEquals(catalogETag, newCatalogETag);
+    }
+}
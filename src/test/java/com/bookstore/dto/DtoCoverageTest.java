@@ -3,8 +3,10 @@ package com.bookstore.dto;
 import com.bookstore.dto.request.LoginRequest;
 import com.bookstore.dto.request.RegisterRequest;
 import com.bookstore.dto.response.ApiResponse;
+import com.bookstore.dto.response.BookFields;
 import com.bookstore.dto.response.BookResponse;
 import com.bookstore.dto.response.JwtResponse;
+import com.bookstore.exception.BadRequestException;
 import com.bookstore.exception.ErrorResponse;
 import com.bookstore.model.enums.AgeGroup;
 import com.bookstore.model.enums.Language;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -124,6 +127,18 @@ class DtoCoverageTest {
         assertNotNull(request.toString());
     }
 
+    @Test
+    void testBookFields() {
+        BookFields fields = BookFields.parse(" name, price ,,name");
+
+        assertEquals(Set.of("name", "price"), fields.getNames());
+        assertFalse(fields.includesText());
+        assertTrue(BookFields.parse("name,description").includesText());
+        assertTrue(BookFields.parse(" ").isAll());
+        assertTrue(BookFields.parse(null).includesText());
+        assertThrows(BadRequestException.class, () -> BookFields.parse("name,isbn"));
+    }
+
     @Test
     void testLoginRequest() {
         LoginRequest request = new LoginRequest("email@test.com", "password");
@@ -45,6 +45,18 @@ class GlobalExceptionHandlerTest {
         assertEquals("/test/path", response.getBody().getPath());
     }
 
+    @Test
+    void handleBadRequestException() {
+        BadRequestException ex = new BadRequestException("Invalid cursor");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleBadRequestException(ex, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Bad Request", response.getBody().getError());
+        assertEquals("Invalid cursor", response.getBody().getMessage());
+    }
+
     @Test
     void handleResourceAlreadyExistsException() {
         ResourceAlreadyExistsException ex = new ResourceAlreadyExistsException("User", "email", "test@example.com");
@@ -0,0 +1,73 @@
+package com.bookstore.mapper;
+
+import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.model.Book;
+import com.bookstore.model.enums.AgeGroup;
+import com.bookstore.model.enums.Language;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookMapperTest {
+
+    private final BookMapper bookMapper = Mappers.getMapper(BookMapper.class);
+
+    @Test
+    void toResponse_ShouldCopyAllFields() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setName("Test Book");
+        book.setAuthor("Test Author");
+        book.setPrice(BigDecimal.valueOf(19.99));
+        book.setAgeGroup(AgeGroup.ADULT);
+        book.setLanguage(Language.ENGLISH);
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        BookResponse response = bookMapper.toResponse(book);
+
+        assertEquals(1L, response.getId());
+        assertEquals("Test Book", response.getName());
+        assertEquals("Test Author", response.getAuthor());
+        assertEquals(BigDecimal.valueOf(19.99), response.getPrice());
+        assertEquals(AgeGroup.ADULT, response.getAgeGroup());
+        assertEquals(Language.ENGLISH, response.getLanguage());
+        assertEquals(book.getCreatedAt(), response.getCreatedAt());
+    }
+
+    @Test
+    void toResponseWithoutText_ShouldLeaveOutTextColumns() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setName("Test Book");
+        book.setCharacteristics("Hardcover");
+        book.setDescription("Long description");
+
+        BookResponse response = bookMapper.toResponseWithoutText(book);
+
+        assertEquals("Test Book", response.getName());
+        assertNull(response.getCharacteristics());
+        assertNull(response.getDescription());
+    }
+
+    @Test
+    void updateEntity_ShouldIgnoreNullFields() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setName("Test Book");
+        book.setAuthor("Test Author");
+
+        BookRequest request = new BookRequest();
+        request.setName("Renamed Book");
+
+        bookMapper.updateEntity(request, book);
+
+        assertEquals(1L, book.getId());
+        assertEquals("Renamed Book", book.getName());
+        assertEquals("Test Author", book.getAuthor());
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookstore.repository;
+
+import com.bookstore.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookKeysetTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        BookKeyset.Cursor cursor = new BookKeyset.Cursor("name", Sort.Direction.DESC,
+                ScrollPosition.forward(Map.of("name", "Pride | Prejudice", "id", 7L)));
+
+        BookKeyset.Cursor decoded = BookKeyset.decode(BookKeyset.encode(cursor));
+
+        assertEquals("name", decoded.getProperty());
+        assertEquals(Sort.Direction.DESC, decoded.getDirection());
+        assertEquals("Pride | Prejudice", decoded.getPosition().getKeys().get("name"));
+        assertEquals(7L, decoded.getPosition().getKeys().get("id"));
+    }
+
+    @Test
+    void decode_ShouldRestoreKeyTypes() {
+        BookKeyset.Cursor cursor = new BookKeyset.Cursor("price", Sort.Direction.ASC,
+                ScrollPosition.forward(Map.of("price", new BigDecimal("12.90"), "id", 3L)));
+
+        BookKeyset.Cursor decoded = BookKeyset.decode(BookKeyset.encode(cursor));
+
+        assertEquals(new BigDecimal("12.90"), decoded.getPosition().getKeys().get("price"));
+    }
+
+    @Test
+    void decode_ShouldRejectGarbage() {
+        assertThrows(BadRequestException.class, () -> BookKeyset.decode("not-a-cursor"));
+        assertFalse(BookKeyset.supports("description"));
+    }
+}
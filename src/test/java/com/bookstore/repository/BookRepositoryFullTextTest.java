@@ -0,0 +1,100 @@
+package com.bookstore.repository;
+
+import com.bookstore.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks the full-text search path.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class BookRepositoryFullTextTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchFullText_ShouldRankWordMatchesFirst() {
+        Page<Book> result = bookRepository.searchFullText("hobbit", PageRequest.of(0, 10));
+
+        assertFalse(result.isEmpty());
+        assertEquals("The Hobbit", result.getContent().get(0).getName());
+    }
+
+    @Test
+    void searchFullText_ShouldFindSubstrings() {
+        Page<Book> result = bookRepository.searchFullText("obbi", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void searchFullText_ShouldUseGinIndexes() {
+        // The sample table is tiny, so keep the planner from preferring a sequential scan
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String vectorPlan = explain("SELECT id FROM books WHERE search_vector @@ plainto_tsquery('simple', 'hobbit')");
+        String trigramPlan = explain("SELECT id FROM books WHERE lower(name) LIKE '%obbi%'");
+
+        assertTrue(vectorPlan.contains("idx_books_search_vector"), vectorPlan);
+        assertTrue(trigramPlan.contains("idx_books_name_trgm"), trigramPlan);
+    }
+
+    @Test
+    void softDeletedBooks_ShouldBeHiddenFromQueries_ButKeepTheirName() {
+        jdbcTemplate.update("UPDATE books SET deleted_at = now() WHERE name = 'The Hobbit'");
+
+        assertTrue(bookRepository.findByName("The Hobbit").isEmpty());
+        assertTrue(bookRepository.findAllActiveResponses().stream()
+                .noneMatch(book -> book.getName().equals("The Hobbit")));
+        assertTrue(bookRepository.existsByName("The Hobbit"));
+    }
+
+    @Test
+    void activeLookups_ShouldUsePartialIndexes() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = explain("SELECT id FROM books WHERE author = 'J.R.R. Tolkien' AND deleted_at IS NULL");
+
+        assertTrue(plan.contains("idx_books_author_id"), plan);
+    }
+
+    private String explain(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", plan);
+    }
+}
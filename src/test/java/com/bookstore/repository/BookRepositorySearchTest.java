@@ -0,0 +1,68 @@
+package com.bookstore.repository;
+
+import com.bookstore.config.JpaConfig;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The database search on the embedded database: terms match as literal substrings, like the in-memory index.
+ */
+@DataJpaTest
+@Import(JpaConfig.class)
+class BookRepositorySearchTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.saveAll(List.of(book("100% Cotton"), book("1000 Cottages"), book("snake_case"),
+                book("snakeXcase"), book("C:\\Windows")));
+    }
+
+    @Test
+    void findResponsesWithSearch_ShouldMatchWildcardsLiterally() {
+        assertEquals(List.of("100% Cotton"), search("0% c"));
+        assertEquals(List.of("snake_case"), search("e_c"));
+        assertEquals(List.of("C:\\Windows"), search(":\\w"));
+    }
+
+    @Test
+    void findResponsesWithSearch_ShouldMatchAll_WhenSearchIsEmpty() {
+        assertEquals(5, search("").size());
+        assertEquals(5, search(null).size());
+    }
+
+    @Test
+    void matchesSearch_ShouldMatchWildcardsLiterally() {
+        List<Book> books = bookRepository.findAll(BookSpecifications.matchesSearch("E_C"));
+
+        assertEquals(List.of("snake_case"), books.stream().map(Book::getName).toList());
+    }
+
+    private List<String> search(String term) {
+        return bookRepository.findResponsesWithSearch(term, PageRequest.of(0, 10, Sort.by("name")))
+                .map(BookResponse::getName).getContent();
+    }
+
+    private static Book book(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setAuthor("Test Author");
+        book.setGenre("Test");
+        book.setPrice(new BigDecimal("9.99"));
+        return book;
+    }
+}
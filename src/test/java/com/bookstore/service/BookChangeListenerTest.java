@@ -0,0 +1,109 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.catalog.CacheRefreshPolicy;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookChangeListenerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookChangeNotifier bookChangeNotifier;
+
+    @Mock
+    private BookCache bookCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookCatalog bookCatalog;
+    private BookChangeListener bookChangeListener;
+
+    @BeforeEach
+    void setUp() {
+        bookCatalog = new BookCatalog(List.of(), new SimpleMeterRegistry(),
+                new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run));
+        bookCatalog.snapshot(() -> List.of(book(1L, "A"), book(2L, "B")));
+        bookChangeListener = new BookChangeListener(bookChangeNotifier, bookRepository, bookCatalog, bookCache,
+                objectMapper);
+        lenient().when(bookChangeNotifier.getNode()).thenReturn("this-node");
+    }
+
+    @Test
+    void handle_ShouldEvictNamesAndPatchOnlyChangedBooks() throws Exception {
+        when(bookRepository.findActiveResponsesByIdIn(List.of(1L, 2L))).thenReturn(List.of(book(1L, "A2")));
+
+        bookChangeListener.handle(payload(false, List.of(1L, 2L), List.of("A", "A2", "B")));
+
+        verify(bookCache).evict("A", "A2", "B");
+        CatalogSnapshot catalog = bookCatalog.current().orElseThrow();
+        assertEquals("A2", catalog.findById(1L).orElseThrow().getName());
+        assertTrue(catalog.findById(2L).isEmpty());
+    }
+
+    @Test
+    void handle_ShouldIgnoreOwnNotifications() throws Exception {
+        String payload = objectMapper.writeValueAsString(
+                new BookChangeNotifier.Message("this-node", 1L, true, List.of(), List.of()));
+
+        bookChangeListener.handle(payload);
+
+        verifyNoInteractions(bookCache, bookRepository);
+        assertTrue(bookCatalog.current().isPresent());
+    }
+
+    @Test
+    void handle_ShouldDropEverything_WhenAllBooksChanged() throws Exception {
+        bookChangeListener.handle(payload(true, List.of(), List.of()));
+
+        verify(bookCache).evictAll();
+        assertTrue(bookCatalog.current().isEmpty());
+    }
+
+    @Test
+    void handle_ShouldDropCatalog_WhenChangedBooksCannotBeRead() throws Exception {
+        when(bookRepository.findActiveResponsesByIdIn(List.of(1L)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        bookChangeListener.handle(payload(false, List.of(1L), List.of("A")));
+
+        verify(bookCache).evict("A");
+        assertTrue(bookCatalog.current().isEmpty());
+    }
+
+    @Test
+    void handle_ShouldIgnoreMalformedPayload() {
+        bookChangeListener.handle("not json");
+
+        verifyNoInteractions(bookCache, bookRepository);
+    }
+
+    private String payload(boolean all, List<Long> ids, List<String> names) throws Exception {
+        return objectMapper.writeValueAsString(new BookChangeNotifier.Message("other-node", 7L, all, ids, names));
+    }
+
+    private static BookResponse book(Long id, String name) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        return book;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookChangeNotifierTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BookCatalog bookCatalog;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookChangeNotifier bookChangeNotifier;
+
+    @BeforeEach
+    void setUp() {
+        bookChangeNotifier = new BookChangeNotifier(jdbcTemplate, objectMapper, bookCatalog);
+        ReflectionTestUtils.setField(bookChangeNotifier, "enabled", true);
+    }
+
+    @Test
+    void booksChanged_ShouldNotifyIdsAndNames() throws Exception {
+        bookChangeNotifier.booksChanged(List.of(1L), List.of("Old Name", "New Name"));
+
+        BookChangeNotifier.Message message = sentMessage();
+        assertEquals(bookChangeNotifier.getNode(), message.getNode());
+        assertFalse(message.isAll());
+        assertEquals(List.of(1L), message.getIds());
+        assertEquals(List.of("Old Name", "New Name"), message.getNames());
+    }
+
+    @Test
+    void booksChanged_ShouldNotifyAllBooks_WhenPayloadTooLarge() throws Exception {
+        List<String> names = IntStream.range(0, 1000).mapToObj(i -> "Book number " + i).toList();
+
+        bookChangeNotifier.booksChanged(List.of(1L), names);
+
+        BookChangeNotifier.Message message = sentMessage();
+        assertTrue(message.isAll());
+        assertTrue(message.getNames().isEmpty());
+    }
+
+    @Test
+    void booksChanged_ShouldDoNothing_WhenDisabled() {
+        ReflectionTestUtils.setField(bookChangeNotifier, "enabled", false);
+
+        bookChangeNotifier.booksChanged(List.of(1L), List.of("Test Book"));
+        bookChangeNotifier.allBooksChanged();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private BookChangeNotifier.Message sentMessage() throws Exception {
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).queryForList(eq("SELECT pg_notify(?, ?)"), args.capture(), args.capture());
+        assertEquals(BookChangeNotifier.CHANNEL, args.getAllValues().get(0));
+        return objectMapper.readValue((String) args.getAllValues().get(1), BookChangeNotifier.Message.class);
+    }
+}
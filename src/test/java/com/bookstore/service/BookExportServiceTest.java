@@ -0,0 +1,71 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.response.BookResponse;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BookExportService bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportService(bookRepository, objectMapper);
+    }
+
+    @Test
+    void exportBooks_ShouldWriteOneLinePerBook() throws Exception {
+        BookResponse first = book(1L, "First Book");
+        BookResponse second = book(2L, "Second Book");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookRepository.streamAllActiveResponses())
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bookExportService.exportBooks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("First Book", objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals("Second Book", objectMapper.readTree(lines[1]).get("name").asText());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportBooks_ShouldWriteNothing_WhenCatalogEmpty() throws Exception {
+        when(bookRepository.streamAllActiveResponses()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, bookExportService.exportBooks(out));
+        assertEquals(0, out.size());
+    }
+
+    private BookResponse book(Long id, String name) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setName(name);
+        book.setPrice(BigDecimal.TEN);
+        return book;
+    }
+}
@@ -0,0 +1,156 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookImportResponse;
+import com.bookstore.exception.BadRequestException;
+import com.bookstore.model.enums.AgeGroup;
+import com.bookstore.model.enums.ImportFormat;
+import com.bookstore.repository.BookBatchRepository;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookBatchRepository bookBatchRepository;
+
+    @Mock
+    private BookCatalog bookCatalog;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private BookChangeNotifier bookChangeNotifier;
+
+    @Captor
+    private ArgumentCaptor<List<BookRequest>> booksCaptor;
+
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        BookImportParser parser = new BookImportParser(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        bookImportService = new BookImportService(parser, bookRepository, bookBatchRepository, bookCatalog, bookCache,
+                bookChangeNotifier);
+        ReflectionTestUtils.setField(bookImportService, "batchSize", 2);
+    }
+
+    @Test
+    void importBooks_ShouldInsertValidCsvRows_AndReportInvalidOnes() throws Exception {
+        when(bookRepository.findExistingNames(anyCollection())).thenReturn(List.of());
+        String csv = """
+                name,author,price,ageGroup,publicationYear
+                "Dune, Deluxe",Frank Herbert,19.99,ADULT,1965-08-01
+                Missing Price,Someone,,ADULT,
+                Bad Age,Someone,5.00,ANCIENT,
+                "Dune, Deluxe",Frank Herbert,9.99,ADULT,
+                """;
+
+        BookImportResponse result = bookImportService.importBooks(stream(csv), ImportFormat.CSV, false);
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getInserted());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3, 4, 5), result.getErrors().stream().map(BookImportResponse.RowError::getRow).toList());
+        assertEquals("price: Price is required", result.getErrors().get(0).getMessage());
+        assertEquals("ageGroup: invalid value", result.getErrors().get(1).getMessage());
+
+        verify(bookBatchRepository).insertAll(booksCaptor.capture(), eq(2));
+        BookRequest inserted = booksCaptor.getValue().get(0);
+        assertEquals("Dune, Deluxe", inserted.getName());
+        assertEquals(new BigDecimal("19.99"), inserted.getPrice());
+        assertEquals(AgeGroup.ADULT, inserted.getAgeGroup());
+        assertEquals(LocalDate.of(1965, 8, 1), inserted.getPublicationYear());
+        verify(bookCatalog).invalidate();
+        verify(bookCache).evictAll();
+        verify(bookChangeNotifier).allBooksChanged();
+    }
+
+    @Test
+    void importBooks_ShouldRejectExistingNames_WithoutUpsert() throws Exception {
+        when(bookRepository.findExistingNames(anyCollection())).thenReturn(List.of("Existing"));
+
+        BookImportResponse result = bookImportService.importBooks(stream(json()), ImportFormat.JSON, false);
+
+        assertEquals(1, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Book already exists with name: 'Existing'", result.getErrors().get(0).getMessage());
+        verify(bookBatchRepository).updateAllByName(List.of(), 2);
+    }
+
+    @Test
+    void importBooks_ShouldUpdateExistingNames_WithUpsert() throws Exception {
+        when(bookRepository.findExistingNames(anyCollection())).thenReturn(List.of("Existing"));
+
+        BookImportResponse result = bookImportService.importBooks(stream(json()), ImportFormat.JSON, true);
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertTrue(result.getErrors().isEmpty());
+        verify(bookBatchRepository).updateAllByName(booksCaptor.capture(), eq(2));
+        assertEquals("Existing", booksCaptor.getValue().get(0).getName());
+    }
+
+    @Test
+    void importBooks_ShouldNotInvalidateCache_WhenNothingImported() throws Exception {
+        BookImportResponse result = bookImportService.importBooks(stream("[{\"name\": \"No Price\", \"author\": \"A\"}]"),
+                ImportFormat.JSON, false);
+
+        assertEquals(1, result.getFailed());
+        verify(bookCatalog, never()).invalidate();
+        verify(bookCache, never()).evictAll();
+        verify(bookChangeNotifier, never()).allBooksChanged();
+    }
+
+    @Test
+    void importBooks_ShouldFail_OnUnknownCsvColumn() {
+        assertThrows(BadRequestException.class,
+                () -> bookImportService.importBooks(stream("name,isbn\nA,123\n"), ImportFormat.CSV, false));
+        verify(bookBatchRepository, never()).insertAll(any(), anyInt());
+    }
+
+    private String json() {
+        return """
+                [
+                  {"name": "Existing", "author": "A", "price": 10.00},
+                  {"name": "New", "author": "B", "price": 12.50, "language": "ENGLISH"}
+                ]
+                """;
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,32 +1,53 @@
 package com.bookstore.service;
 
+import com.bookstore.catalog.BookCache;
+import com.bookstore.catalog.BookCatalog;
+import com.bookstore.catalog.BookFacet;
+import com.bookstore.catalog.BookFacetIndex;
+import com.bookstore.catalog.BookRangeIndex;
+import com.bookstore.catalog.BookSearchIndex;
+import com.bookstore.catalog.BookSuggestIndex;
+import com.bookstore.catalog.CacheRefreshPolicy;
+import com.bookstore.dto.request.BookRangeFilter;
 import com.bookstore.dto.request.BookRequest;
+import com.bookstore.dto.response.BookFields;
 import com.bookstore.dto.response.BookResponse;
+import com.bookstore.dto.response.BookSuggestion;
+import com.bookstore.dto.response.BookSummaryResponse;
+import com.bookstore.dto.response.FacetedSearchResponse;
+import com.bookstore.exception.BadRequestException;
 import com.bookstore.exception.ResourceAlreadyExistsException;
 import com.bookstore.exception.ResourceNotFoundException;
+import com.bookstore.mapper.BookMapper;
 import com.bookstore.model.Book;
 import com.bookstore.model.enums.AgeGroup;
 import com.bookstore.model.enums.Language;
+import com.bookstore.model.enums.SearchEngine;
 import com.bookstore.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.factory.Mappers;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +57,16 @@ class BookServiceTest {
     private BookRepository bookRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookChangeNotifier bookChangeNotifier;
 
-    @InjectMocks
+    private final BookMapper bookMapper = Mappers.getMapper(BookMapper.class);
+
+    private BookSearchIndex bookSearchIndex;
+    private BookFacetIndex bookFacetIndex;
+    private BookRangeIndex bookRangeIndex;
+    private BookSuggestIndex bookSuggestIndex;
+    private BookCatalog bookCatalog;
+    private BookCache bookCache;
     private BookService bookService;
 
     private Book book;
@@ -47,6 +75,18 @@ class BookServiceTest {
 
     @BeforeEach
     void setUp() {
+        bookSearchIndex = new BookSearchIndex();
+        bookFacetIndex = new BookFacetIndex();
+        bookRangeIndex = new BookRangeIndex();
+        bookSuggestIndex = new BookSuggestIndex();
+        CacheRefreshPolicy refreshPolicy = new CacheRefreshPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Runnable::run);
+        bookCatalog = spy(new BookCatalog(List.of(bookSearchIndex, bookFacetIndex, bookRangeIndex, bookSuggestIndex),
+                new SimpleMeterRegistry(), refreshPolicy));
+        bookCache = spy(new BookCache(new ConcurrentMapCacheManager(BookCache.CACHE_NAME), new SimpleMeterRegistry(),
+                refreshPolicy));
+        bookService = new BookService(bookRepository, bookMapper, bookCatalog, bookCache, bookSearchIndex,
+                bookFacetIndex, bookRangeIndex, bookSuggestIndex, bookChangeNotifier);
+
         book = new Book();
         book.setId(1L);
         book.setName("Test Book");
@@ -71,34 +111,192 @@ class BookServiceTest {
 
     @Test
     void getAllBooks_ShouldReturnListOfBooks() {
-        when(bookRepository.findAllActive()).thenReturn(Collections.singletonList(book));
-        when(modelMapper.map(any(Book.class), eq(BookResponse.class))).thenReturn(bookResponse);
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.singletonList(bookResponse));
 
         List<BookResponse> result = bookService.getAllBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(bookResponse.getName(), result.get(0).getName());
-        verify(bookRepository).findAllActive();
+        verify(bookRepository).findAllActiveResponses();
+    }
+
+    @Test
+    void getAllBooks_ShouldServeSnapshot_OnSubsequentCalls() {
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.singletonList(bookResponse));
+
+        bookService.getAllBooks();
+        List<BookResponse> result = bookService.getAllBooks();
+
+        assertEquals(1, result.size());
+        verify(bookRepository, times(1)).findAllActiveResponses();
+    }
+
+    @Test
+    void getBooks_ShouldNotSelectTextColumns_WhenFieldsExcludeThem() {
+        BookSummaryResponse summary = new BookSummaryResponse();
+        summary.setName("Test Book");
+        when(bookRepository.findSummariesWithSearch(any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary)));
+
+        Page<BookResponse> result = bookService.getBooks("test", SearchEngine.DATABASE, BookFields.parse("name,price"),
+                0, 10, "name", "asc");
+
+        assertEquals("Test Book", result.getContent().get(0).getName());
+        verify(bookRepository, never()).findResponsesWithSearch(any(), any(Pageable.class));
     }
 
     @Test
     void getBooks_ShouldReturnPagedBooks() {
-        Page<Book> bookPage = new PageImpl<>(Collections.singletonList(book));
-        when(bookRepository.findBooksWithSearch(any(), any(Pageable.class))).thenReturn(bookPage);
-        when(modelMapper.map(any(Book.class), eq(BookResponse.class))).thenReturn(bookResponse);
+        Page<BookResponse> bookPage = new PageImpl<>(Collections.singletonList(bookResponse));
+        when(bookRepository.findResponsesWithSearch(any(), any(Pageable.class))).thenReturn(bookPage);
 
         Page<BookResponse> result = bookService.getBooks("test", 0, 10, "name", "asc");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository).findBooksWithSearch(any(), any(Pageable.class));
+        verify(bookRepository).findResponsesWithSearch(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getBooks_ShouldSearchLoadedCatalog_WithoutQuery() {
+        BookResponse other = new BookResponse();
+        other.setId(2L);
+        other.setName("Another Title");
+        other.setAuthor("Someone Else");
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.singletonList(bookResponse));
+        bookService.getAllBooks();
+        bookCatalog.put(other);
+
+        Page<BookResponse> result = bookService.getBooks("test auth", 0, 10, "name", "asc");
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Book", result.getContent().get(0).getName());
+        verify(bookRepository, never()).findResponsesWithSearch(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getBookSummaries_ShouldProjectFromDatabase_WhenCatalogNotLoaded() {
+        BookSummaryResponse summary = new BookSummaryResponse();
+        summary.setName("Test Book");
+        when(bookRepository.findSummariesWithSearch(any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(summary)));
+
+        Page<BookSummaryResponse> result = bookService.getBookSummaries("test", 0, 10, "name", "asc");
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Book", result.getContent().get(0).getName());
+    }
+
+    @Test
+    void getBookSummaries_ShouldSearchLoadedCatalog_WithoutQuery() {
+        bookResponse.setDescription("Long description");
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.singletonList(bookResponse));
+        bookService.getAllBooks();
+
+        Page<BookSummaryResponse> result = bookService.getBookSummaries("test", 0, 10, "name", "asc");
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Book", result.getContent().get(0).getName());
+        verify(bookRepository, never()).findSummariesWithSearch(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getFacetedBooks_ShouldFilterAndCount_FromLoadedCatalog() {
+        BookResponse spanish = new BookResponse();
+        spanish.setId(2L);
+        spanish.setName("Libro");
+        spanish.setAgeGroup(AgeGroup.CHILDREN);
+        spanish.setLanguage(Language.SPANISH);
+        bookResponse.setAgeGroup(AgeGroup.ADULT);
+        bookResponse.setLanguage(Language.ENGLISH);
+        when(bookRepository.findAllActiveResponses()).thenReturn(List.of(bookResponse, spanish));
+
+        FacetedSearchResponse result = bookService.getFacetedBooks(null,
+                Map.of(BookFacet.LANGUAGE, List.of("spanish")), null, 0, 10, "name", "asc");
+
+        assertEquals(List.of("Libro"), result.getBooks().getContent().stream().map(BookResponse::getName).toList());
+        assertEquals(Map.of("CHILDREN", 1), result.getFacets().get("ageGroup"));
+        assertEquals(Map.of("ENGLISH", 1, "SPANISH", 1), result.getFacets().get("language"));
+        verify(bookRepository, times(1)).findAllActiveResponses();
+    }
+
+    @Test
+    void getFacetedBooks_ShouldApplyRanges_BeforeCountingFacets() {
+        BookResponse cheap = new BookResponse();
+        cheap.setId(2L);
+        cheap.setName("Cheap Book");
+        cheap.setLanguage(Language.SPANISH);
+        cheap.setPrice(new BigDecimal("4.99"));
+        cheap.setPublicationYear(LocalDate.of(1995, 6, 1));
+        bookResponse.setLanguage(Language.ENGLISH);
+        bookResponse.setPrice(new BigDecimal("19.99"));
+        bookResponse.setPublicationYear(LocalDate.of(2020, 1, 1));
+        when(bookRepository.findAllActiveResponses()).thenReturn(List.of(bookResponse, cheap));
+
+        FacetedSearchResponse result = bookService.getFacetedBooks("book", Map.of(),
+                new BookRangeFilter(null, new BigDecimal("5"), LocalDate.of(1990, 1, 1), null), 0, 10, "name", "asc");
+
+        assertEquals(List.of("Cheap Book"), result.getBooks().getContent().stream().map(BookResponse::getName).toList());
+        assertEquals(Map.of("SPANISH", 1), result.getFacets().get("language"));
+    }
+
+    @Test
+    void getSuggestions_ShouldLoadCatalogOnce_AndCompleteNamesAndAuthors() {
+        when(bookRepository.findAllActiveResponses()).thenReturn(List.of(bookResponse));
+
+        List<BookSuggestion> first = bookService.getSuggestions("tes", 10);
+        List<BookSuggestion> second = bookService.getSuggestions("AUTH", 10);
+
+        assertEquals(List.of(new BookSuggestion("Test Book", "name"), new BookSuggestion("Test Author", "author")), first);
+        assertEquals(List.of(new BookSuggestion("Test Author", "author")), second);
+        verify(bookRepository, times(1)).findAllActiveResponses();
+    }
+
+    @Test
+    void getSuggestions_ShouldReject_NonPositiveLimit() {
+        assertThrows(BadRequestException.class, () -> bookService.getSuggestions("tes", 0));
+    }
+
+    @Test
+    void getBooksByNames_ShouldQueryMissesOnce_AndKeepRequestOrder() {
+        BookResponse other = new BookResponse();
+        other.setId(2L);
+        other.setName("Other Book");
+        when(bookRepository.findResponseByName("Test Book")).thenReturn(Optional.of(bookResponse));
+        when(bookRepository.findActiveResponsesByNameIn(Set.of("Other Book", "Missing")))
+                .thenReturn(List.of(other));
+        bookService.getBookByName("Test Book");
+
+        List<BookResponse> result = bookService.getBooksByNames(List.of("Other Book", "Missing", "Test Book", "Other Book"));
+
+        assertEquals(List.of("Other Book", "Test Book"), result.stream().map(BookResponse::getName).toList());
+        verify(bookRepository, times(1)).findActiveResponsesByNameIn(any());
+    }
+
+    @Test
+    void getBooksByIds_ShouldServeFromLoadedCatalog_WithoutQuery() {
+        when(bookRepository.findAllActiveResponses()).thenReturn(List.of(bookResponse));
+        bookService.getAllBooks();
+
+        List<BookResponse> result = bookService.getBooksByIds(List.of(99L, 1L));
+
+        assertEquals(List.of(bookResponse), result);
+        verify(bookRepository, never()).findActiveResponsesByIdIn(any());
+    }
+
+    @Test
+    void getBooksByNames_ShouldReject_TooManyNames() {
+        List<String> names = IntStream.rangeClosed(0, BookService.MAX_BATCH_SIZE)
+                .mapToObj(i -> "Book " + i)
+                .toList();
+
+        assertThrows(BadRequestException.class, () -> bookService.getBooksByNames(names));
     }
 
     @Test
     void getBookByName_ShouldReturnBook_WhenExists() {
-        when(bookRepository.findByName("Test Book")).thenReturn(Optional.of(book));
-        when(modelMapper.map(any(Book.class), eq(BookResponse.class))).thenReturn(bookResponse);
+        when(bookRepository.findResponseByName("Test Book")).thenReturn(Optional.of(bookResponse));
 
         BookResponse result = bookService.getBookByName("Test Book");
 
@@ -106,9 +304,31 @@ class BookServiceTest {
         assertEquals("Test Book", result.getName());
     }
 
+    @Test
+    void getBookByName_ShouldServeFromLoadedCatalog_WithoutQuery() {
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.singletonList(bookResponse));
+        bookService.getAllBooks();
+
+        BookResponse result = bookService.getBookByName("Test Book");
+
+        assertSame(bookResponse, result);
+        verify(bookRepository, never()).findResponseByName(any());
+    }
+
+    @Test
+    void getBookByName_ShouldServeFromCache_OnSubsequentCalls() {
+        when(bookRepository.findResponseByName("Test Book")).thenReturn(Optional.of(bookResponse));
+
+        bookService.getBookByName("Test Book");
+        BookResponse result = bookService.getBookByName("Test Book");
+
+        assertEquals("Test Book", result.getName());
+        verify(bookRepository, times(1)).findResponseByName("Test Book");
+    }
+
     @Test
     void getBookByName_ShouldThrowException_WhenNotFound() {
-        when(bookRepository.findByName("Non Existent")).thenReturn(Optional.empty());
+        when(bookRepository.findResponseByName("Non Existent")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> bookService.getBookByName("Non Existent"));
     }
@@ -116,9 +336,7 @@ class BookServiceTest {
     @Test
     void createBook_ShouldReturnCreatedBook() {
         when(bookRepository.existsByName(bookRequest.getName())).thenReturn(false);
-        when(modelMapper.map(bookRequest, Book.class)).thenReturn(book);
         when(bookRepository.save(any(Book.class))).thenReturn(book);
-        when(modelMapper.map(book, BookResponse.class)).thenReturn(bookResponse);
 
         BookResponse result = bookService.createBook(bookRequest);
 
@@ -127,6 +345,22 @@ class BookServiceTest {
         verify(bookRepository).save(any(Book.class));
     }
 
+    @Test
+    void createBook_ShouldPatchLoadedCatalog() {
+        when(bookRepository.findAllActiveResponses()).thenReturn(Collections.emptyList());
+        bookService.getAllBooks();
+
+        when(bookRepository.existsByName(bookRequest.getName())).thenReturn(false);
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+
+        bookService.createBook(bookRequest);
+
+        List<BookResponse> result = bookService.getAllBooks();
+        assertEquals(1, result.size());
+        assertEquals("Test Book", result.get(0).getName());
+        verify(bookRepository, times(1)).findAllActiveResponses();
+    }
+
     @Test
     void createBook_ShouldThrowException_WhenBookExists() {
         when(bookRepository.existsByName(bookRequest.getName())).thenReturn(true);
@@ -138,14 +372,25 @@ class BookServiceTest {
     @Test
     void updateBook_ShouldReturnUpdatedBook() {
         when(bookRepository.findByName("Test Book")).thenReturn(Optional.of(book));
-        doNothing().when(modelMapper).map(any(BookRequest.class), any(Book.class));
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
-        when(modelMapper.map(book, BookResponse.class)).thenReturn(bookResponse);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(book);
 
         BookResponse result = bookService.updateBook("Test Book", bookRequest);
 
         assertNotNull(result);
-        verify(bookRepository).save(any(Book.class));
+        verify(bookRepository).saveAndFlush(any(Book.class));
+    }
+
+    @Test
+    void updateBook_ShouldEvictOldAndNewName_OnRename() {
+        bookRequest.setName("Renamed Book");
+        when(bookRepository.findByName("Test Book")).thenReturn(Optional.of(book));
+        when(bookRepository.existsByName("Renamed Book")).thenReturn(false);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(book);
+
+        bookService.updateBook("Test Book", bookRequest);
+
+        verify(bookCache).evict("Test Book", "Renamed Book");
+        verify(bookChangeNotifier).booksChanged(List.of(1L), List.of("Test Book", "Renamed Book"));
     }
 
     @Test
@@ -156,5 +401,8 @@ class BookServiceTest {
 
         verify(bookRepository).save(book);
         assertTrue(book.isDeleted());
+        verify(bookCatalog).remove(1L);
+        verify(bookCache).evict("Test Book");
+        verify(bookChangeNotifier).booksChanged(List.of(1L), List.of("Test Book"));
     }
 }